@@ -1,15 +1,47 @@
 package dev.everly.synapsys.api;
 
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import dev.everly.synapsys.service.execution.CircuitBreakerRegistry;
+import dev.everly.synapsys.service.llm.ModelResidency;
+
 @RestController
 public class HealthController {
 
+    private final CircuitBreakerRegistry breakers;
+    private final List<ModelResidency> residencies;
+
+    public HealthController(CircuitBreakerRegistry breakers, List<ModelResidency> residencies) {
+        this.breakers = breakers;
+        this.residencies = residencies;
+    }
+
     @GetMapping({ "/actuator/health", "/api/health", "/health" })
-    public Map<String, String> health() {
-        return Map.of("status", "UP");
+    public Map<String, Object> health() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("status", "UP");
+        out.put("breakers", breakers.providerStates());
+        return out;
+    }
+
+    // Holds traffic back only until the startup warm-up pass has run; later per-model state is reported, not enforced.
+    @GetMapping({ "/actuator/health/readiness", "/api/health/ready", "/health/ready" })
+    public ResponseEntity<Map<String, Object>> readiness() {
+        boolean ready = residencies.stream().allMatch(ModelResidency::ready);
+        Map<String, Object> models = new TreeMap<>();
+        residencies.forEach(r -> models.put(r.residencyName(), r.modelStates()));
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("status", ready ? "UP" : "OUT_OF_SERVICE");
+        out.put("models", models);
+        return ResponseEntity.status(ready ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(out);
     }
 }
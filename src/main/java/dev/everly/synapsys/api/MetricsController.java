@@ -0,0 +1,29 @@
+package dev.everly.synapsys.api;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import dev.everly.synapsys.service.metrics.MetricsContributor;
+
+@RestController
+@RequestMapping("/api/v1")
+public class MetricsController {
+
+    private final List<MetricsContributor> contributors;
+
+    public MetricsController(List<MetricsContributor> contributors) {
+        this.contributors = contributors;
+    }
+
+    @GetMapping("/metrics")
+    public Map<String, Object> metrics() {
+        Map<String, Object> out = new TreeMap<>();
+        contributors.forEach(c -> out.put(c.metricsName(), c.metrics()));
+        return out;
+    }
+}
@@ -0,0 +1,73 @@
+package dev.everly.synapsys.api;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import dev.everly.synapsys.config.GlobalExceptionHandler;
+import dev.everly.synapsys.service.guard.GuardViolationException;
+import dev.everly.synapsys.service.llm.message.SynapsysResponse;
+import dev.everly.synapsys.service.stream.StreamSink;
+
+final class SseStreamSink implements StreamSink {
+
+	private final SseEmitter emitter;
+	private final AtomicBoolean closed = new AtomicBoolean();
+
+	SseStreamSink(SseEmitter emitter) {
+		this.emitter = emitter;
+		emitter.onCompletion(() -> closed.set(true));
+		emitter.onTimeout(() -> closed.set(true));
+		emitter.onError(e -> closed.set(true));
+	}
+
+	@Override
+	public void token(String content) {
+		if (closed.get()) {
+			throw new IllegalStateException("SSE stream already closed");
+		}
+		send("token", Map.of("content", content));
+	}
+
+	@Override
+	public void complete(Map<String, Object> metadata) {
+		if (closed.compareAndSet(false, true)) {
+			sendQuietly("done", Map.of("metadata", metadata));
+			emitter.complete();
+		}
+	}
+
+	@Override
+	public void fail(SynapsysResponse response) {
+		if (closed.compareAndSet(false, true)) {
+			sendQuietly("error", Map.of("content", response.getContent(), "metadata", response.getMetadata()));
+			emitter.complete();
+		}
+	}
+
+	@Override
+	public void blocked(GuardViolationException violation) {
+		fail(GlobalExceptionHandler.blockedResponse(violation));
+	}
+
+	private void send(String event, Object data) {
+		try {
+			emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+		} catch (IOException e) {
+			closed.set(true);
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void sendQuietly(String event, Object data) {
+		try {
+			emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+		} catch (IOException | IllegalStateException e) {
+			emitter.completeWithError(e);
+		}
+	}
+}
@@ -1,14 +1,28 @@
 package dev.everly.synapsys.api;
 
 import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import dev.everly.synapsys.config.GlobalExceptionHandler;
 import dev.everly.synapsys.service.BrokerService;
+import dev.everly.synapsys.service.execution.Deadline;
+import dev.everly.synapsys.service.execution.ProviderExecutor;
 import dev.everly.synapsys.service.llm.message.ApplicationMessage;
+import dev.everly.synapsys.service.llm.message.BatchItemResult;
 import dev.everly.synapsys.service.llm.message.InboundApplicationMessage;
 import dev.everly.synapsys.service.llm.message.SynapsysResponse;
 import lombok.extern.slf4j.Slf4j;
@@ -19,15 +33,76 @@ import lombok.extern.slf4j.Slf4j;
 public class WebController {
 
     private final BrokerService brokerService;
+    private final ProviderExecutor executor;
+    private final GlobalExceptionHandler exceptionHandler;
+    private final long streamTimeoutMs;
+    private final int maxBatchItems;
 
-    public WebController(BrokerService brokerService) {
+    public WebController(BrokerService brokerService, ProviderExecutor executor, GlobalExceptionHandler exceptionHandler,
+            @Value("${synapsys.limits.streamTimeoutMs:180000}") long streamTimeoutMs,
+            @Value("${synapsys.limits.maxBatchItems:50}") int maxBatchItems) {
         this.brokerService = brokerService;
+        this.executor = executor;
+        this.exceptionHandler = exceptionHandler;
+        this.streamTimeoutMs = streamTimeoutMs;
+        this.maxBatchItems = maxBatchItems;
     }
 
     @PostMapping("/chat")
-    public SynapsysResponse execute(@RequestBody InboundApplicationMessage inboundApplicationMessage, Principal principal) {
+    public CompletableFuture<SynapsysResponse> execute(@RequestBody InboundApplicationMessage inboundApplicationMessage, Principal principal,
+            @RequestAttribute(name = Deadline.REQUEST_ATTRIBUTE, required = false) Long deadline) {
         String sender = principal.getName();
         ApplicationMessage applicationMessage = new ApplicationMessage(sender, inboundApplicationMessage.getContent(), inboundApplicationMessage.getContext());
-        return brokerService.executeRequestPipeline(applicationMessage);
+        return brokerService.executeRequestPipelineAsync(applicationMessage, deadline);
+    }
+
+    @PostMapping(value = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestBody InboundApplicationMessage inboundApplicationMessage, Principal principal,
+            @RequestAttribute(name = Deadline.REQUEST_ATTRIBUTE, required = false) Long deadline) {
+        String sender = principal.getName();
+        ApplicationMessage applicationMessage = new ApplicationMessage(sender, inboundApplicationMessage.getContent(), inboundApplicationMessage.getContext());
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs + 5_000);
+        brokerService.executeStreamingPipeline(applicationMessage, new SseStreamSink(emitter), deadline);
+        return emitter;
+    }
+
+    @PostMapping("/chat/batch")
+    public CompletableFuture<List<BatchItemResult>> batch(@RequestBody List<InboundApplicationMessage> inboundApplicationMessages, Principal principal,
+            @RequestAttribute(name = Deadline.REQUEST_ATTRIBUTE, required = false) Long deadline) {
+        if (inboundApplicationMessages == null || inboundApplicationMessages.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one item");
+        }
+        if (inboundApplicationMessages.size() > maxBatchItems) {
+            throw new IllegalArgumentException("Batch exceeds " + maxBatchItems + " items");
+        }
+
+        String sender = principal.getName();
+        // Only each item's pre-flight runs on a pooled thread; no thread waits for the provider calls to finish.
+        Executor preFlight = executor.contextual();
+        List<CompletableFuture<BatchItemResult>> pending = new ArrayList<>(inboundApplicationMessages.size());
+        for (int i = 0; i < inboundApplicationMessages.size(); i++) {
+            int index = i;
+            InboundApplicationMessage item = inboundApplicationMessages.get(i);
+            pending.add(CompletableFuture.supplyAsync(() -> {
+                if (item == null) {
+                    throw new IllegalArgumentException("Batch item must not be null");
+                }
+                ApplicationMessage applicationMessage = new ApplicationMessage(sender, item.getContent(), item.getContext());
+                return brokerService.executeRequestPipelineAsync(applicationMessage, deadline);
+            }, preFlight).thenCompose(response -> response)
+                    .handle((response, error) -> toItem(index, response, error)));
+        }
+
+        return CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+                .thenApply(done -> pending.stream().map(CompletableFuture::join).toList());
+    }
+
+    private BatchItemResult toItem(int index, SynapsysResponse response, Throwable error) {
+        if (error == null) {
+            return new BatchItemResult(index, 200, response);
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        ResponseEntity<SynapsysResponse> failure = exceptionHandler.resolve(cause);
+        return new BatchItemResult(index, failure.getStatusCode().value(), failure.getBody());
     }
 }
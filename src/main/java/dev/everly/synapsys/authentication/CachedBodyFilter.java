@@ -2,6 +2,7 @@ package dev.everly.synapsys.authentication;
 
 import java.io.IOException;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
@@ -17,12 +18,20 @@ import jakarta.servlet.http.HttpServletResponse;
 public class CachedBodyFilter extends OncePerRequestFilter {
 
 	private static final int MAX_BODY_BYTES = 8 * 1024;
+	private static final String BATCH_PATH_SUFFIX = "/chat/batch";
+
+	private final int maxBatchBodyBytes;
+
+	public CachedBodyFilter(@Value("${synapsys.limits.maxBatchBodyBytes:262144}") int maxBatchBodyBytes) {
+		this.maxBatchBodyBytes = maxBatchBodyBytes;
+	}
 
 	@Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
 			throws ServletException, IOException {
 
-		CachedBodyHttpServletRequest wrapped = new CachedBodyHttpServletRequest(request, MAX_BODY_BYTES);
+		int maxBytes = request.getRequestURI().endsWith(BATCH_PATH_SUFFIX) ? maxBatchBodyBytes : MAX_BODY_BYTES;
+		CachedBodyHttpServletRequest wrapped = new CachedBodyHttpServletRequest(request, maxBytes);
 		filterChain.doFilter(wrapped, response);
 	}
 }
@@ -28,6 +28,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import dev.everly.synapsys.authentication.CachedBodyHttpServletRequest;
 import dev.everly.synapsys.authentication.NonceCache;
+import dev.everly.synapsys.service.execution.Deadline;
 import dev.everly.synapsys.service.sender.SenderConfig;
 import dev.everly.synapsys.service.sender.SenderConfigService;
 import jakarta.servlet.FilterChain;
@@ -71,6 +72,8 @@ public class ApiKeyAuthFilter extends OncePerRequestFilter {
             long requestEpochSeconds = headers.parseTimestampEpochSeconds();
             enforceTimestampWindow(requestEpochSeconds);
 
+            Long deadlineEpochMillis = headers.parseDeadlineEpochMillis();
+
             enforceNonceFreshness(headers.senderNormalized(), headers.nonce());
 
             SenderConfig senderConfig = loadSenderConfig(headers.senderNormalized());
@@ -85,11 +88,17 @@ public class ApiKeyAuthFilter extends OncePerRequestFilter {
                     headers.senderOriginal(),
                     headers.timestampRaw(),
                     headers.nonce(),
-                    canonicalizer.sha256Hex(requestBodyBytes)
+                    canonicalizer.sha256Hex(requestBodyBytes),
+                    headers.deadlineRaw()
             );
 
             signatureVerifier.verifyOrThrow(headers.signatureRaw(), senderSecret, canonicalString);
 
+            if (deadlineEpochMillis != null) {
+                enforceDeadlineNotPassed(deadlineEpochMillis);
+                request.setAttribute(Deadline.REQUEST_ATTRIBUTE, deadlineEpochMillis);
+            }
+
             establishAuthentication(headers.senderOriginal());
             filterChain.doFilter(request, response);
 
@@ -108,6 +117,15 @@ public class ApiKeyAuthFilter extends OncePerRequestFilter {
         }
     }
 
+    private void enforceDeadlineNotPassed(long deadlineEpochMillis) {
+        if (deadlineEpochMillis <= System.currentTimeMillis()) {
+            throw AuthFailureException.gatewayTimeout(
+                    "Request deadline passed before processing started.",
+                    "deadline_exceeded"
+            );
+        }
+    }
+
     private void enforceNonceFreshness(String normalizedSender, String nonce) {
         if (!nonceCache.markIfNew(normalizedSender, nonce)) {
             throw AuthFailureException.unauthorized(
@@ -178,20 +196,23 @@ public class ApiKeyAuthFilter extends OncePerRequestFilter {
         private static final String HEADER_TS = "X-SynapSys-Timestamp";
         private static final String HEADER_NONCE = "X-SynapSys-Nonce";
         private static final String HEADER_SIG = "X-SynapSys-Signature";
+        private static final String HEADER_DEADLINE = "X-SynapSys-Deadline";
 
         private final String senderOriginal;
         private final String senderNormalized;
         private final String timestampRaw;
         private final String nonce;
         private final String signatureRaw;
+        private final String deadlineRaw;
 
         private SignedRequestHeaders(String senderOriginal, String senderNormalized, String timestampRaw, String nonce,
-                String signatureRaw) {
+                String signatureRaw, String deadlineRaw) {
             this.senderOriginal = senderOriginal;
             this.senderNormalized = senderNormalized;
             this.timestampRaw = timestampRaw;
             this.nonce = nonce;
             this.signatureRaw = signatureRaw;
+            this.deadlineRaw = deadlineRaw;
         }
 
         static SignedRequestHeaders from(HttpServletRequest request) {
@@ -209,8 +230,9 @@ public class ApiKeyAuthFilter extends OncePerRequestFilter {
             String ts = valueOrEmpty(request.getHeader(HEADER_TS));
             String nonce = valueOrEmpty(request.getHeader(HEADER_NONCE));
             String sig = valueOrEmpty(request.getHeader(HEADER_SIG));
+            String deadline = valueOrEmpty(request.getHeader(HEADER_DEADLINE));
 
-            return new SignedRequestHeaders(senderTrimmed, normalized, ts, nonce, sig);
+            return new SignedRequestHeaders(senderTrimmed, normalized, ts, nonce, sig, deadline);
         }
 
         void validateSignatureHeadersPresent() {
@@ -230,6 +252,17 @@ public class ApiKeyAuthFilter extends OncePerRequestFilter {
             }
         }
 
+        Long parseDeadlineEpochMillis() {
+            if (deadlineRaw.isBlank()) {
+                return null;
+            }
+            try {
+                return Long.parseLong(deadlineRaw);
+            } catch (NumberFormatException e) {
+                throw AuthFailureException.badRequest("Invalid deadline header.", "invalid_deadline");
+            }
+        }
+
         String senderOriginal() {
             return senderOriginal;
         }
@@ -250,6 +283,10 @@ public class ApiKeyAuthFilter extends OncePerRequestFilter {
             return signatureRaw;
         }
 
+        String deadlineRaw() {
+            return deadlineRaw;
+        }
+
         private static String valueOrEmpty(String s) {
             return s == null ? "" : s.trim();
         }
@@ -297,9 +334,10 @@ public class ApiKeyAuthFilter extends OncePerRequestFilter {
             return path;
         }
 
+        // The deadline line is appended only when the header is sent, so existing clients sign exactly as before.
         String buildCanonicalV1(String method, String pathWithQuery, String sender, String timestamp, String nonce,
-                String bodySha256Hex) {
-            return String.join("\n",
+                String bodySha256Hex, String deadline) {
+            String canonical = String.join("\n",
                     "v1",
                     method.toUpperCase(),
                     pathWithQuery,
@@ -308,6 +346,7 @@ public class ApiKeyAuthFilter extends OncePerRequestFilter {
                     nonce,
                     bodySha256Hex
             );
+            return deadline.isBlank() ? canonical : canonical + "\n" + deadline;
         }
 
         String sha256Hex(byte[] data) {
@@ -381,6 +420,10 @@ public class ApiKeyAuthFilter extends OncePerRequestFilter {
             return new AuthFailureException(HttpStatus.BAD_REQUEST, message, reason, null);
         }
 
+        static AuthFailureException gatewayTimeout(String message, String reason) {
+            return new AuthFailureException(HttpStatus.GATEWAY_TIMEOUT, message, reason, null);
+        }
+
         static AuthFailureException serverError(String message, String reason, Throwable cause) {
             return new AuthFailureException(HttpStatus.INTERNAL_SERVER_ERROR, message, reason, cause);
         }
@@ -0,0 +1,21 @@
+package dev.everly.synapsys.config;
+
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "synapsys.bulkhead")
+public record BulkheadConfig(Map<String, Limit> limits) {
+
+	public BulkheadConfig {
+		limits = (limits == null) ? Map.of() : Map.copyOf(limits);
+	}
+
+	public record Limit(int maxConcurrent, int maxQueue, long maxQueueWaitMs, boolean adaptive, int minConcurrent) {
+		public Limit {
+			maxQueue = Math.max(0, maxQueue);
+			maxQueueWaitMs = maxQueueWaitMs <= 0 ? 5000 : maxQueueWaitMs;
+			minConcurrent = Math.max(1, Math.min(minConcurrent, maxConcurrent));
+		}
+	}
+}
@@ -0,0 +1,13 @@
+package dev.everly.synapsys.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "synapsys.breaker")
+public record CircuitBreakerConfig(int failureThreshold, long openMs, int halfOpenProbes) {
+
+	public CircuitBreakerConfig {
+		failureThreshold = failureThreshold <= 0 ? 5 : failureThreshold;
+		openMs = openMs <= 0 ? 30000 : openMs;
+		halfOpenProbes = halfOpenProbes <= 0 ? 1 : halfOpenProbes;
+	}
+}
@@ -28,6 +28,8 @@ public class GlobalExceptionHandler {
 		case "SECRETS_DETECTED" -> "I can’t process messages that include secrets. Remove them and try again.";
 		case "INPUT_TOO_LARGE" -> "Your message is too long. Please shorten it and try again.";
 		case "PROVIDER_TIMEOUT" -> "The upstream model timed out. Please try again.";
+		case "DEADLINE_EXCEEDED" -> "The request deadline passed before a response was ready.";
+		case "QUOTA_EXCEEDED" -> "You’ve hit your usage limit. Please try again shortly.";
 		case "SYSTEM_LEAKAGE" -> "I can't share internal instructions or hidden policies.";
 		case "SENSITIVE_EGRESS" -> "I can’t share sensitive information.";
 		case "OUTPUT_TOO_LARGE" -> "The response would be too long. Please narrow your question.";
@@ -48,12 +50,43 @@ public class GlobalExceptionHandler {
 		return switch (reasonCode) {
 		case "INPUT_TOO_LARGE" -> "invalid_request";
 		case "PROVIDER_TIMEOUT" -> "unavailable";
+		case "DEADLINE_EXCEEDED" -> "deadline_exceeded";
+		case "QUOTA_EXCEEDED" -> "rate_limit";
 		default -> "policy";
 		};
 	}
 
+	public ResponseEntity<SynapsysResponse> resolve(Throwable e) {
+		if (e instanceof GuardViolationException guardViolation) {
+			return handleGuardViolation(guardViolation);
+		}
+		if (e instanceof SecurityException security) {
+			return handleSecurity(security);
+		}
+		if (e instanceof IllegalArgumentException badArg) {
+			return handleBadArg(badArg);
+		}
+		if (e instanceof Exception exception) {
+			return handleGeneral(exception);
+		}
+		return handleGeneral(new RuntimeException(e));
+	}
+
 	@ExceptionHandler(GuardViolationException.class)
 	public ResponseEntity<SynapsysResponse> handleGuardViolation(GuardViolationException e) {
+		if ("QUOTA_EXCEEDED".equals(e.getReasonCode())) {
+			Object retryAfterMs = e.getEvidence().get("retryAfterMs");
+			long retryAfterSeconds = retryAfterMs instanceof Number n ? Math.max(1, (n.longValue() + 999) / 1000) : 1;
+			return ResponseEntity.status(429).header("Retry-After", String.valueOf(retryAfterSeconds))
+					.body(blockedResponse(e));
+		}
+		if ("DEADLINE_EXCEEDED".equals(e.getReasonCode())) {
+			return ResponseEntity.status(504).body(blockedResponse(e));
+		}
+		return ResponseEntity.status(403).body(blockedResponse(e));
+	}
+
+	public static SynapsysResponse blockedResponse(GuardViolationException e) {
 		String reasonCode = (e.getReasonCode() == null || e.getReasonCode().isBlank()) ? "policy" : e.getReasonCode();
 		String userMsg = (e.getUserMessage() == null || e.getUserMessage().isBlank()) ? defaultUserMessage(reasonCode)
 				: e.getUserMessage();
@@ -66,8 +99,12 @@ public class GlobalExceptionHandler {
 		logObj.put("evidence", e.getEvidence());
 		log.warn("<<< {}", logObj);
 
-		return ResponseEntity.status(403).body(new SynapsysResponse("synapsys-guard", userMsg,
-				Map.of("status", "blocked", "reason", clientReason(reasonCode))));
+		if ("QUOTA_EXCEEDED".equals(reasonCode)) {
+			return new SynapsysResponse("synapsys-guard", userMsg,
+					Map.of("status", "blocked", "reason", clientReason(reasonCode), "retryable", true));
+		}
+		return new SynapsysResponse("synapsys-guard", userMsg,
+				Map.of("status", "blocked", "reason", clientReason(reasonCode)));
 	}
 
 	@ExceptionHandler(SecurityException.class)
@@ -0,0 +1,26 @@
+package dev.everly.synapsys.config;
+
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "synapsys.ollama")
+public record OllamaConfig(Boolean warmup, long residencyCheckSeconds, Map<String, String> keepAlive, Http http) {
+
+	public OllamaConfig {
+		warmup = warmup == null || warmup;
+		residencyCheckSeconds = residencyCheckSeconds <= 0 ? 60 : residencyCheckSeconds;
+		keepAlive = keepAlive == null ? Map.of() : Map.copyOf(keepAlive);
+		http = http == null ? new Http(0, 0, 0, 0) : http;
+	}
+
+	public record Http(int maxConnectionsPerHost, long idleTimeoutSeconds, long connectTimeoutMs, long readTimeoutMs) {
+
+		public Http {
+			maxConnectionsPerHost = maxConnectionsPerHost <= 0 ? 16 : maxConnectionsPerHost;
+			idleTimeoutSeconds = idleTimeoutSeconds <= 0 ? 300 : idleTimeoutSeconds;
+			connectTimeoutMs = connectTimeoutMs <= 0 ? 3000 : connectTimeoutMs;
+			readTimeoutMs = readTimeoutMs <= 0 ? 180_000 : readTimeoutMs;
+		}
+	}
+}
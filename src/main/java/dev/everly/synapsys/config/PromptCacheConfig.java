@@ -0,0 +1,16 @@
+package dev.everly.synapsys.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "synapsys.prompt-cache")
+public record PromptCacheConfig(Boolean enabled, int minChars, long ttlSeconds, String ollamaKeepAlive,
+		String geminiBaseUrl) {
+
+	public PromptCacheConfig {
+		enabled = enabled != null && enabled;
+		minChars = minChars <= 0 ? 16_000 : minChars;
+		ttlSeconds = ttlSeconds <= 0 ? 3600 : ttlSeconds;
+		ollamaKeepAlive = (ollamaKeepAlive == null || ollamaKeepAlive.isBlank()) ? "30m" : ollamaKeepAlive.trim();
+		geminiBaseUrl = (geminiBaseUrl == null || geminiBaseUrl.isBlank()) ? null : geminiBaseUrl.trim();
+	}
+}
@@ -0,0 +1,16 @@
+package dev.everly.synapsys.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "synapsys.retry")
+public record RetryConfig(Integer maxRetries, long baseDelayMs, long maxDelayMs, double budgetRatio,
+		int budgetReserve) {
+
+	public RetryConfig {
+		maxRetries = maxRetries == null ? 2 : Math.max(0, maxRetries);
+		baseDelayMs = baseDelayMs <= 0 ? 200 : baseDelayMs;
+		maxDelayMs = maxDelayMs <= 0 ? 5000 : Math.max(baseDelayMs, maxDelayMs);
+		budgetRatio = budgetRatio <= 0 ? 0.1 : budgetRatio;
+		budgetReserve = budgetReserve <= 0 ? 10 : budgetReserve;
+	}
+}
@@ -8,6 +8,7 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import dev.everly.synapsys.authentication.CachedBodyFilter;
+import jakarta.servlet.DispatcherType;
 
 @Configuration
 @EnableWebSecurity
@@ -18,7 +19,10 @@ public class SecurityConfig {
 			ApiKeyAuthFilter authFilter) throws Exception {
 
 		return http.csrf(c -> c.disable())
-				.authorizeHttpRequests(auth -> auth.requestMatchers("/actuator/health", "/api/health", "/health")
+				.authorizeHttpRequests(auth -> auth.dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR)
+						.permitAll()
+						.requestMatchers("/actuator/health", "/api/health", "/health", "/actuator/health/readiness",
+								"/api/health/ready", "/health/ready")
 						.permitAll().requestMatchers("/api/**").authenticated().anyRequest().denyAll())
 				.addFilterBefore(cachedBodyFilter, UsernamePasswordAuthenticationFilter.class)
 				.addFilterAfter(authFilter, CachedBodyFilter.class).build();
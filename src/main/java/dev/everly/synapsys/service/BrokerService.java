@@ -3,8 +3,12 @@ package dev.everly.synapsys.service;
 import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -13,18 +17,42 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.stereotype.Service;
 
+import dev.everly.synapsys.service.cache.ResponseCache;
+import dev.everly.synapsys.service.cache.ResponseCacheKey;
+import dev.everly.synapsys.service.context.SystemInstruction;
 import dev.everly.synapsys.service.context.SystemInstructionResolver;
-import dev.everly.synapsys.service.guard.GuardPhase;
+import dev.everly.synapsys.service.execution.BulkheadRegistry;
+import dev.everly.synapsys.service.execution.CircuitBreaker;
+import dev.everly.synapsys.service.execution.CircuitBreakerRegistry;
+import dev.everly.synapsys.service.execution.Deadline;
+import dev.everly.synapsys.service.execution.HedgedCall;
+import dev.everly.synapsys.service.execution.ProviderBulkhead;
+import dev.everly.synapsys.service.execution.ProviderExecutor;
+import dev.everly.synapsys.service.execution.RetryEngine;
+import dev.everly.synapsys.service.execution.SingleFlight;
+import dev.everly.synapsys.service.execution.SpeculationStats;
+import dev.everly.synapsys.service.guard.GuardPlans;
 import dev.everly.synapsys.service.guard.GuardViolationException;
 import dev.everly.synapsys.service.guard.PostFlightGuard;
 import dev.everly.synapsys.service.guard.PreFlightGuard;
+import dev.everly.synapsys.service.guard.StreamingGuardChain;
+import dev.everly.synapsys.service.guard.StreamingPostFlightGuard;
+import dev.everly.synapsys.service.llm.ContextKeys;
 import dev.everly.synapsys.service.llm.LlmProviderException;
 import dev.everly.synapsys.service.llm.message.ApplicationMessage;
 import dev.everly.synapsys.service.llm.message.LlmResponse;
 import dev.everly.synapsys.service.llm.message.SynapsysRequest;
 import dev.everly.synapsys.service.llm.message.SynapsysResponse;
+import dev.everly.synapsys.service.llm.message.TokenUsage;
 import dev.everly.synapsys.service.llm.providers.LlmProvider;
+import dev.everly.synapsys.service.quota.QuotaLedger;
+import dev.everly.synapsys.service.sender.CachePolicy;
+import dev.everly.synapsys.service.sender.RoutingPolicy;
+import dev.everly.synapsys.service.sender.SenderConfig;
+import dev.everly.synapsys.service.sender.SenderConfigService;
+import dev.everly.synapsys.service.stream.StreamSink;
 import dev.everly.synapsys.service.strategy.SenderStrategy;
+import dev.everly.synapsys.service.strategy.SenderStrategyIndex;
 import dev.everly.synapsys.util.LogColor;
 import dev.everly.synapsys.util.TextCanon;
 import lombok.extern.slf4j.Slf4j;
@@ -33,29 +61,52 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class BrokerService {
 
-	private final List<PreFlightGuard> preFlightGuards;
-	private final List<PostFlightGuard> postFlightGuards;
+	private final GuardPlans guardPlans;
 	private final Map<String, LlmProvider> llmProvidersById;
 	private final List<SystemInstructionResolver> systemInstructionResolvers;
-	private final List<SenderStrategy> senderStrategies;
-
-	private final ExecutorService llmExec = Executors.newCachedThreadPool();
+	private final SenderStrategyIndex senderStrategies;
+
+	private final ProviderExecutor llmExec;
+	private final ScheduledExecutorService streamTimeouts = Executors
+			.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("stream-timeout").factory());
+	private final BulkheadRegistry bulkheads;
+	private final CircuitBreakerRegistry breakers;
+	private final RetryEngine retryEngine;
+	private final SenderConfigService senderConfigService;
+	private final ResponseCache responseCache;
+	private final SingleFlight singleFlight;
+	private final QuotaLedger quotaLedger;
+	private final SpeculationStats speculationStats;
 	private final Duration providerTimeout;
+	private final Duration streamTimeout;
+	private final Duration requestBudget;
 
 	public BrokerService(List<PreFlightGuard> preFlightGuards, List<PostFlightGuard> postFlightGuards,
 			List<LlmProvider> providerList, List<SystemInstructionResolver> systemInstructionResolvers,
-			List<SenderStrategy> senderStrategies,
-			@Value("${synapsys.limits.providerTimeoutMs:20000}") long providerTimeoutMs) {
-		this.preFlightGuards = preFlightGuards;
-		this.postFlightGuards = postFlightGuards;
+			List<SenderStrategy> senderStrategies, ProviderExecutor llmExec, BulkheadRegistry bulkheads,
+			CircuitBreakerRegistry breakers, RetryEngine retryEngine, SenderConfigService senderConfigService,
+			ResponseCache responseCache, SingleFlight singleFlight, QuotaLedger quotaLedger,
+			SpeculationStats speculationStats,
+			@Value("${synapsys.limits.providerTimeoutMs:20000}") long providerTimeoutMs,
+			@Value("${synapsys.limits.streamTimeoutMs:180000}") long streamTimeoutMs,
+			@Value("${synapsys.limits.requestBudgetMs:45000}") long requestBudgetMs) {
+		this.guardPlans = new GuardPlans(preFlightGuards, postFlightGuards, senderConfigService::version);
 		this.systemInstructionResolvers = systemInstructionResolvers;
-		this.senderStrategies = senderStrategies;
+		this.senderStrategies = new SenderStrategyIndex(senderStrategies, senderConfigService::version);
+		this.llmExec = llmExec;
+		this.bulkheads = bulkheads;
+		this.breakers = breakers;
+		this.retryEngine = retryEngine;
+		this.senderConfigService = senderConfigService;
+		this.responseCache = responseCache;
+		this.singleFlight = singleFlight;
+		this.quotaLedger = quotaLedger;
+		this.speculationStats = speculationStats;
 		this.providerTimeout = Duration.ofMillis(providerTimeoutMs);
+		this.streamTimeout = Duration.ofMillis(streamTimeoutMs);
+		this.requestBudget = Duration.ofMillis(requestBudgetMs);
 
-		AnnotationAwareOrderComparator.sort(this.preFlightGuards);
-		AnnotationAwareOrderComparator.sort(this.postFlightGuards);
 		AnnotationAwareOrderComparator.sort(this.systemInstructionResolvers);
-		AnnotationAwareOrderComparator.sort(this.senderStrategies);
 
 		this.llmProvidersById = providerList.stream()
 				.collect(Collectors.toMap(LlmProvider::getProviderId, Function.identity()));
@@ -81,28 +132,253 @@ public class BrokerService {
 		return preProcess(applicationMessage);
 	}
 
+	public SynapsysResponse executeRequestPipeline(ApplicationMessage applicationMessage, Long clientDeadlineMillis) {
+		return process(selectStrategy(applicationMessage).complete(applicationMessage), clientDeadlineMillis);
+	}
+
 	public SynapsysResponse preProcess(ApplicationMessage applicationMessage) {
-		SenderStrategy selected = senderStrategies.stream().filter(s -> s.appliesTo(applicationMessage.getSender()))
-				.findFirst().orElseThrow(() -> new IllegalStateException("No SenderStrategy found for sender"));
-		return process(selected.complete(applicationMessage));
+		return process(selectStrategy(applicationMessage).complete(applicationMessage));
 	}
 
-	public SynapsysResponse process(SynapsysRequest synapsysRequest) {
+	public void executeStreamingPipeline(ApplicationMessage applicationMessage, StreamSink sink,
+			Long clientDeadlineMillis) {
+		Deadline deadline = Deadline.within(System.currentTimeMillis(), streamTimeout, clientDeadlineMillis);
+		SynapsysRequest finalSynapsysRequest;
+		try {
+			finalSynapsysRequest = finalizeRequest(selectStrategy(applicationMessage).complete(applicationMessage));
+		} catch (GuardViolationException guardViolationException) {
+			sink.blocked(guardViolationException);
+			return;
+		}
+
+		MDC.put("sender", finalSynapsysRequest.getSender());
+		try {
+			log.info(">>> TX_STREAM_START | Sender: {} | Provider: {} | Content: \"{}\"",
+					finalSynapsysRequest.getSender(), finalSynapsysRequest.getLlmProvider(),
+					truncateForLogs(finalSynapsysRequest.getContent()));
+
+			// Blocks are reported on the stream like any other outcome, so the client always gets an event.
+			try {
+				deadline.check("preflight");
+				runPreFlightGuards(finalSynapsysRequest);
+				deadline.check("dispatch");
+			} catch (GuardViolationException guardViolationException) {
+				quotaLedger.settle(finalSynapsysRequest, TokenUsage.empty());
+				sink.blocked(guardViolationException);
+				return;
+			}
+
+			LlmProvider llmProvider = llmProvidersById.get(finalSynapsysRequest.getLlmProvider());
+			String resolvedModel = llmProvider.resolveModel(finalSynapsysRequest.getModelVersion());
+
+			CircuitBreaker breaker = breakers.breakerFor(llmProvider.endpointId());
+			try {
+				breaker.acquire();
+			} catch (LlmProviderException llmProviderException) {
+				quotaLedger.settle(finalSynapsysRequest, TokenUsage.empty());
+				sink.fail(providerErrorResponse(llmProviderException));
+				return;
+			}
+
+			ProviderBulkhead.Permit permit;
+			try {
+				permit = bulkheads.acquireBlocking(llmProvider.getProviderId(), resolvedModel,
+						SenderConfigService.normalize(finalSynapsysRequest.getSender()),
+						schedulingWeightFor(finalSynapsysRequest.getSender()));
+			} catch (LlmProviderException llmProviderException) {
+				breaker.onIgnored();
+				quotaLedger.settle(finalSynapsysRequest, TokenUsage.empty());
+				sink.fail(providerErrorResponse(llmProviderException));
+				return;
+			}
+
+			// Whichever of the worker and the timeout settles the call first reports it to the breaker and trues up
+			// the sender's quota.
+			AtomicBoolean outcomeRecorded = new AtomicBoolean();
+			AtomicBoolean quotaSettled = new AtomicBoolean();
+			Consumer<TokenUsage> settle = usage -> {
+				if (quotaSettled.compareAndSet(false, true)) {
+					quotaLedger.settle(finalSynapsysRequest, usage);
+				}
+			};
+			AtomicReference<Future<?>> timeout = new AtomicReference<>();
+			Future<?> work;
+			try {
+				work = llmExec.submit(() -> {
+					streamToSink(finalSynapsysRequest, llmProvider, breaker, outcomeRecorded, settle, permit, timeout,
+							sink);
+					return null;
+				});
+			} catch (RejectedExecutionException e) {
+				permit.close();
+				breaker.onIgnored();
+				settle.accept(TokenUsage.empty());
+				throw e;
+			}
+
+			long streamDeadlineMs = Math.max(1, deadline.remainingMillis());
+			timeout.set(streamTimeouts.schedule(() -> {
+				if (!work.isDone()) {
+					if (outcomeRecorded.compareAndSet(false, true)) {
+						breaker.onFailure();
+					}
+					work.cancel(true);
+					permit.close();
+					settle.accept(TokenUsage.empty());
+					sink.fail(new SynapsysResponse("synapsys", "The upstream model timed out. Please try again.",
+							Map.of("status", "error", "reason", "unavailable", "retryable", true)));
+				}
+			}, streamDeadlineMs, TimeUnit.MILLISECONDS));
+			// The stream may have finished before the timeout was published for it to cancel.
+			if (work.isDone()) {
+				timeout.get().cancel(false);
+			}
+		} finally {
+			MDC.remove("sender");
+		}
+	}
+
+	private void streamToSink(SynapsysRequest synapsysRequest, LlmProvider llmProvider, CircuitBreaker breaker,
+			AtomicBoolean outcomeRecorded, Consumer<TokenUsage> settle, ProviderBulkhead.Permit permit,
+			AtomicReference<Future<?>> timeout, StreamSink sink) {
+		long startTime = System.currentTimeMillis();
+		TokenUsage usage = TokenUsage.empty();
+		GuardPlans.Plan plan = guardPlans.planFor(synapsysRequest.getSender());
+		List<StreamingPostFlightGuard> perChunkGuards = plan.perChunkPostFlight();
+		List<PostFlightGuard> bufferedGuards = plan.bufferedPostFlight();
+		// Once a guard in the chain needs the complete output, tokens are held back until the whole chain has run.
+		boolean buffered = !bufferedGuards.isEmpty();
+
+		try (permit) {
+			StreamingGuardChain chain = StreamingGuardChain.open(perChunkGuards, synapsysRequest);
+			StringBuilder released = new StringBuilder();
+			Consumer<String> release = text -> {
+				if (!text.isEmpty()) {
+					released.append(text);
+					if (!buffered) {
+						sink.token(text);
+					}
+				}
+			};
+
+			// A guard abort or a client that went away says nothing about the endpoint, so failures raised while
+			// handing a chunk on are kept away from the breaker; only the provider's own failures count.
+			AtomicReference<RuntimeException> consumerFailure = new AtomicReference<>();
+			LlmResponse llmResult;
+			try {
+				llmResult = llmProvider.generateStream(synapsysRequest, chunk -> {
+					try {
+						release.accept(chain.accept(chunk));
+					} catch (RuntimeException e) {
+						consumerFailure.set(e);
+						throw e;
+					}
+				});
+				if (outcomeRecorded.compareAndSet(false, true)) {
+					recordOutcome(breaker, null);
+				}
+				usage = llmResult.usage();
+			} catch (RuntimeException e) {
+				if (outcomeRecorded.compareAndSet(false, true)) {
+					if (e == consumerFailure.get()) {
+						breaker.onIgnored();
+					} else {
+						recordOutcome(breaker, e);
+					}
+				}
+				throw e;
+			}
+			release.accept(chain.finish());
+
+			String safeContent = applyPostFlightGuards(bufferedGuards, synapsysRequest, released.toString());
+			if (buffered) {
+				sink.token(safeContent);
+			}
+			LlmResponse clearedResult = new LlmResponse(safeContent, llmResult.usage(), llmResult.providerUsed());
+
+			log.info("<<< TX_STREAM_SUCCESS | Time: {}ms | Tokens: {} (In:{} / Out:{})",
+					System.currentTimeMillis() - startTime, clearedResult.usage().totalTokens(),
+					clearedResult.usage().promptTokens(), clearedResult.usage().completionTokens());
 
+			Map<String, Object> metadata = getMetadata(clearedResult);
+			metadata.put("streamed", !buffered);
+			sink.complete(metadata);
+
+		} catch (LlmProviderException llmProviderException) {
+			log.warn("<<< TX_PROVIDER_ERROR | type={} | {}", llmProviderException.getType(),
+					llmProviderException.getMessage());
+			sink.fail(providerErrorResponse(llmProviderException));
+		} catch (GuardViolationException guardViolationException) {
+			sink.blocked(guardViolationException);
+		} catch (RuntimeException e) {
+			log.error("<<< TX_STREAM_ERROR | {}", e.getMessage(), e);
+			sink.fail(new SynapsysResponse("system", "An internal server error occurred.", Map.of("status", "error")));
+		} finally {
+			settle.accept(usage);
+			Future<?> pending = timeout.get();
+			if (pending != null) {
+				pending.cancel(false);
+			}
+		}
+	}
+
+	private SenderStrategy selectStrategy(ApplicationMessage applicationMessage) {
+		return senderStrategies.select(applicationMessage.getSender());
+	}
+
+	private SynapsysRequest finalizeRequest(SynapsysRequest synapsysRequest) {
 		if (!synapsysRequest.getSystemInstruction().isBlank()) {
 			throw new GuardViolationException("INVALID_REQUEST", "Bad request.", "BrokerService",
 					Map.of("category", "client_set_system_instruction"));
 		}
 
-		String resolvedSystemInstruction = resolveSystemInstruction(synapsysRequest.getSender(), synapsysRequest);
+		SystemInstruction resolvedSystemInstruction = resolveSystemInstruction(synapsysRequest.getSender(),
+				synapsysRequest);
 		String canonicalContent = TextCanon.normalize(synapsysRequest.getContent());
 
-		SynapsysRequest finalSynapsysRequest = new SynapsysRequest(synapsysRequest.getSender(), canonicalContent,
-				synapsysRequest.getContext(), synapsysRequest.getLlmProvider(), synapsysRequest.getModelVersion(),
-				resolvedSystemInstruction);
+		Map<String, Object> context = new LinkedHashMap<>(synapsysRequest.getContext());
+		context.put(ContextKeys.SYSTEM_INSTRUCTION_SHA256, resolvedSystemInstruction.sha256());
+		context.put(ContextKeys.PROVIDER_PROMPT_CACHE, providerPromptCacheFor(synapsysRequest.getSender()));
+
+		return new SynapsysRequest(synapsysRequest.getSender(), canonicalContent, context,
+				synapsysRequest.getLlmProvider(), synapsysRequest.getModelVersion(), resolvedSystemInstruction.text());
+	}
+
+	public CompletableFuture<SynapsysResponse> executeRequestPipelineAsync(ApplicationMessage applicationMessage,
+			Long clientDeadlineMillis) {
+		return processAsync(selectStrategy(applicationMessage).complete(applicationMessage), clientDeadlineMillis);
+	}
+
+	public SynapsysResponse process(SynapsysRequest synapsysRequest) {
+		return process(synapsysRequest, null);
+	}
+
+	public SynapsysResponse process(SynapsysRequest synapsysRequest, Long clientDeadlineMillis) {
+		try {
+			return processAsync(synapsysRequest, clientDeadlineMillis).join();
+		} catch (CompletionException e) {
+			Throwable cause = unwrap(e);
+			if (cause instanceof RuntimeException re) {
+				throw re;
+			}
+			throw e;
+		}
+	}
+
+	public CompletableFuture<SynapsysResponse> processAsync(SynapsysRequest synapsysRequest) {
+		return processAsync(synapsysRequest, null);
+	}
+
+	public CompletableFuture<SynapsysResponse> processAsync(SynapsysRequest synapsysRequest,
+			Long clientDeadlineMillis) {
+
+		SynapsysRequest finalSynapsysRequest = finalizeRequest(synapsysRequest);
+		String instructionHash = (String) finalSynapsysRequest.getContext().get(ContextKeys.SYSTEM_INSTRUCTION_SHA256);
+		String canonicalContent = finalSynapsysRequest.getContent();
 
 		MDC.put("sender", finalSynapsysRequest.getSender());
 		long startTime = System.currentTimeMillis();
+		Deadline deadline = Deadline.within(startTime, requestBudget, clientDeadlineMillis);
 
 		log.info(">>> TX_START | Sender: {} | Provider: {} | Model: {} | Content: \"{}\"",
 				finalSynapsysRequest.getSender(), finalSynapsysRequest.getLlmProvider(),
@@ -110,53 +386,313 @@ public class BrokerService {
 				truncateForLogs(finalSynapsysRequest.getContent()));
 
 		try {
-			runPreFlightGuards(finalSynapsysRequest);
+			deadline.check("preflight");
 
 			LlmProvider llmProvider = llmProvidersById.get(finalSynapsysRequest.getLlmProvider());
+			String resolvedModel = llmProvider.resolveModel(finalSynapsysRequest.getModelVersion());
+
+			CachePolicy cachePolicy = cachePolicyFor(finalSynapsysRequest.getSender());
+			ResponseCacheKey requestKey = new ResponseCacheKey(
+					finalSynapsysRequest.getSender().toLowerCase(Locale.ROOT), llmProvider.getProviderId(),
+					resolvedModel, instructionHash, ResponseCacheKey.contextDigest(finalSynapsysRequest.getContext()),
+					canonicalContent);
+			RoutingPolicy routingPolicy = routingPolicyFor(finalSynapsysRequest.getSender());
+			// A hedged route already ran post-flight on its winner while picking it.
+			boolean clearedInRoute = routingPolicy.hedgeEnabled()
+					&& llmProvidersById.containsKey(routingPolicy.secondaryProviderId());
+			Executor callbackExecutor = llmExec.contextual();
+
+			// A speculative call starts before pre-flight and bypasses single-flight, so cancelling it on a guard
+			// failure can never abort a call other requests are sharing.
+			boolean speculative = speculativeDispatchFor(finalSynapsysRequest.getSender());
+			ResponseCache.Hit cached = null;
+			CompletableFuture<LlmResponse> speculation = null;
+			if (speculative) {
+				cached = cachePolicy.enabled() ? responseCache.lookup(requestKey, cachePolicy) : null;
+				if (cached == null) {
+					speculation = route(llmProvider, resolvedModel, routingPolicy, finalSynapsysRequest,
+							callbackExecutor, deadline);
+				}
+			}
 
-			LlmResponse llmResult = callWithTimeout(() -> llmProvider.generate(finalSynapsysRequest), providerTimeout,
-					finalSynapsysRequest.getLlmProvider());
+			try {
+				runPreFlightGuards(finalSynapsysRequest);
+			} catch (RuntimeException e) {
+				abandonSpeculation(speculation, finalSynapsysRequest.getSender());
+				throw e;
+			}
 
-			LlmResponse clearedResult = runPostFlightGuards(finalSynapsysRequest, llmResult);
+			if (!speculative) {
+				cached = cachePolicy.enabled() ? responseCache.lookup(requestKey, cachePolicy) : null;
+			}
+			if (cached != null) {
+				LlmResponse llmResult = new LlmResponse(cached.response().content(), TokenUsage.empty(),
+						cached.response().providerUsed());
+				quotaLedger.settle(finalSynapsysRequest, llmResult.usage());
+				return CompletableFuture.completedFuture(complete(finalSynapsysRequest,
+						runPostFlightGuards(finalSynapsysRequest, llmResult), cachePolicy, cached.tier(), false,
+						startTime, deadline));
+			}
 
-			long duration = System.currentTimeMillis() - startTime;
-			log.info("<<< TX_SUCCESS | Time: {}ms | Tokens: {} (In:{} / Out:{})", duration,
-					clearedResult.usage().totalTokens(), clearedResult.usage().promptTokens(),
-					clearedResult.usage().completionTokens());
+			if (deadline.expired()) {
+				abandonSpeculation(speculation, finalSynapsysRequest.getSender());
+				throw deadline.exceeded("dispatch");
+			}
 
-			return new SynapsysResponse("synapsys", clearedResult.content(), getMetadata(clearedResult));
+			CompletableFuture<SingleFlight.Result> flight;
+			if (speculation != null) {
+				speculationStats.hit(finalSynapsysRequest.getSender());
+				flight = speculation.thenApply(response -> new SingleFlight.Result(response, false));
+			} else {
+				flight = singleFlight.execute(requestKey, () -> route(llmProvider, resolvedModel, routingPolicy,
+						finalSynapsysRequest, callbackExecutor, deadline));
+			}
+			// The per-caller timeout applies to this caller's view of a coalesced flight, never to the shared leader.
+			return flight.orTimeout(Math.max(1, deadline.remainingMillis()), TimeUnit.MILLISECONDS)
+					.thenApplyAsync(result -> {
+						LlmResponse llmResult = result.shared()
+								? new LlmResponse(result.response().content(), TokenUsage.empty(),
+										result.response().providerUsed())
+								: result.response();
+						quotaLedger.settle(finalSynapsysRequest, llmResult.usage());
+						LlmResponse clearedResult = clearedInRoute ? llmResult
+								: runPostFlightGuards(finalSynapsysRequest, llmResult);
+						// Cached once post-flight passes but before the deadline check, so a response that lands
+						// late is not wasted.
+						if (cachePolicy.enabled() && !result.shared()) {
+							responseCache.put(requestKey, llmResult, cachePolicy);
+						}
+						return complete(finalSynapsysRequest, clearedResult, cachePolicy, "miss", result.shared(),
+								startTime, deadline);
+					}, callbackExecutor).exceptionally(error -> {
+						// A no-op when the response was already settled before post-flight or the deadline failed it.
+						quotaLedger.settle(finalSynapsysRequest, TokenUsage.empty());
+						if (unwrap(error) instanceof TimeoutException) {
+							throw deadline.exceeded("provider");
+						}
+						if (unwrap(error) instanceof LlmProviderException llmProviderException) {
+							log.warn("<<< TX_PROVIDER_ERROR | type={} | {}", llmProviderException.getType(),
+									llmProviderException.getMessage());
+							return providerErrorResponse(llmProviderException);
+						}
+						throw error instanceof CompletionException ce ? ce : new CompletionException(error);
+					});
 
 		} catch (LlmProviderException llmProviderException) {
-			return new SynapsysResponse("synapsys", llmProviderException.getNeutralMessage(),
-					Map.of("status", "error", "reason", llmProviderException.getType().name().toLowerCase(),
-							"retryable", llmProviderException.getType() == LlmProviderException.Type.RATE_LIMIT
-									|| llmProviderException.getType() == LlmProviderException.Type.UNAVAILABLE));
+			log.warn("<<< TX_PROVIDER_ERROR | type={} | {}", llmProviderException.getType(),
+					llmProviderException.getMessage());
+			quotaLedger.settle(finalSynapsysRequest, TokenUsage.empty());
+			return CompletableFuture.completedFuture(providerErrorResponse(llmProviderException));
+
+		} catch (RuntimeException e) {
+			// Pre-flight blocks, an expired deadline and guard failures on a cache hit all end the request here.
+			quotaLedger.settle(finalSynapsysRequest, TokenUsage.empty());
+			throw e;
 
 		} finally {
 			MDC.remove("sender");
 		}
 	}
 
-	private void runPreFlightGuards(SynapsysRequest synapsysRequest) {
-		for (PreFlightGuard guard : preFlightGuards) {
-			if (guard.appliesTo(synapsysRequest.getSender(), GuardPhase.PREFLIGHT)) {
-				guard.inspect(synapsysRequest);
-			}
+	private void abandonSpeculation(CompletableFuture<LlmResponse> speculation, String sender) {
+		if (speculation != null) {
+			speculation.cancel(true);
+			speculationStats.wasted(sender);
 		}
 	}
 
-	private LlmResponse runPostFlightGuards(SynapsysRequest synapsysRequest, LlmResponse llmResult) {
-		String safeContent = llmResult.content();
-
-		for (PostFlightGuard guard : postFlightGuards) {
-			if (guard.appliesTo(synapsysRequest.getSender(), GuardPhase.POSTFLIGHT)) {
-				String preGuard = safeContent;
-				safeContent = guard.sanitize(synapsysRequest, safeContent);
-				if (!preGuard.equals(safeContent)) {
-					log.warn("<<< TX_SANITIZED | guard={}", guard.getClass().getSimpleName());
-				}
+	private CompletableFuture<LlmResponse> route(LlmProvider llmProvider, String resolvedModel,
+			RoutingPolicy routingPolicy, SynapsysRequest synapsysRequest, Executor executor, Deadline deadline) {
+		if (!routingPolicy.hedgeEnabled() && !routingPolicy.failoverEnabled()) {
+			return dispatch(llmProvider, resolvedModel, synapsysRequest, executor, deadline);
+		}
+
+		// Only the secondary named in the sender's own registry entry is eligible.
+		LlmProvider secondaryProvider = llmProvidersById.get(routingPolicy.secondaryProviderId());
+		if (secondaryProvider == null) {
+			log.warn("Sender '{}' routes to unknown provider '{}'; secondary disabled", synapsysRequest.getSender(),
+					routingPolicy.secondaryProviderId());
+			return dispatch(llmProvider, resolvedModel, synapsysRequest, executor, deadline);
+		}
+		String secondaryModel = secondaryProvider.resolveModel(routingPolicy.secondaryModel());
+		SynapsysRequest secondaryRequest = new SynapsysRequest(synapsysRequest.getSender(),
+				synapsysRequest.getContent(), synapsysRequest.getContext(), secondaryProvider.getProviderId(),
+				secondaryModel, synapsysRequest.getSystemInstruction());
+
+		// When hedging, each attempt runs post-flight as it lands: a blocked attempt loses, the first cleared one wins,
+		// and its cleared response is returned so the guards do not run on it again.
+		return HedgedCall.start(
+				llmProvider.getProviderId() + "/" + resolvedModel + " -> " + secondaryProvider.getProviderId() + "/"
+						+ secondaryModel,
+				() -> dispatch(llmProvider, resolvedModel, synapsysRequest, executor, deadline),
+				() -> dispatch(secondaryProvider, secondaryModel, secondaryRequest, executor, deadline),
+				routingPolicy.hedgeAfterMs(),
+				error -> routingPolicy.failoverEnabled() && isFailoverable(error),
+				routingPolicy.hedgeEnabled() ? result -> runPostFlightGuards(synapsysRequest, result) : null,
+				executor);
+	}
+
+	private static boolean isFailoverable(Throwable error) {
+		return unwrap(error) instanceof LlmProviderException llmProviderException
+				&& (llmProviderException.getType() == LlmProviderException.Type.RATE_LIMIT
+						|| llmProviderException.getType() == LlmProviderException.Type.UNAVAILABLE);
+	}
+
+	private CompletableFuture<LlmResponse> dispatch(LlmProvider llmProvider, String resolvedModel,
+			SynapsysRequest synapsysRequest, Executor executor, Deadline deadline) {
+		return retryEngine.execute(llmProvider.endpointId(), deadline.epochMillis(), executor,
+				remainingMs -> attempt(llmProvider, resolvedModel, synapsysRequest, executor,
+						Math.min(providerTimeout.toMillis(), remainingMs)));
+	}
+
+	private CompletableFuture<LlmResponse> attempt(LlmProvider llmProvider, String resolvedModel,
+			SynapsysRequest synapsysRequest, Executor executor, long timeoutMs) {
+		// An open circuit fails fast, before the call queues for a bulkhead slot.
+		CircuitBreaker breaker = breakers.breakerFor(llmProvider.endpointId());
+		try {
+			breaker.acquire();
+		} catch (LlmProviderException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+
+		// Time spent queued for a permit comes out of the attempt's own allowance.
+		long attemptDeadline = System.currentTimeMillis() + timeoutMs;
+		CompletableFuture<LlmResponse> result = new CompletableFuture<>();
+		String tenant = SenderConfigService.normalize(synapsysRequest.getSender());
+		double weight = schedulingWeightFor(synapsysRequest.getSender());
+		bulkheads.acquire(llmProvider.getProviderId(), resolvedModel, tenant, weight).whenComplete((permit, error) -> {
+			if (error != null) {
+				breaker.onIgnored();
+				result.completeExceptionally(unwrap(error));
+			} else if (result.isDone()) {
+				permit.close();
+				breaker.onIgnored();
+			} else {
+				callProvider(llmProvider, synapsysRequest, executor, attemptDeadline, breaker, permit, result);
 			}
+		});
+		return result;
+	}
+
+	private void callProvider(LlmProvider llmProvider, SynapsysRequest synapsysRequest, Executor executor,
+			long attemptDeadline, CircuitBreaker breaker, ProviderBulkhead.Permit permit,
+			CompletableFuture<LlmResponse> result) {
+		long timeoutMs = attemptDeadline - System.currentTimeMillis();
+		if (timeoutMs <= 0) {
+			permit.close();
+			breaker.onIgnored();
+			result.completeExceptionally(providerTimeout(synapsysRequest.getLlmProvider(), 0));
+			return;
+		}
+		CompletableFuture<LlmResponse> call;
+		try {
+			call = llmProvider.generateAsync(synapsysRequest, Duration.ofMillis(timeoutMs), executor);
+		} catch (RuntimeException e) {
+			call = CompletableFuture.failedFuture(e);
+		}
+		CompletableFuture<LlmResponse> upstream = call;
+		// A cancelled dispatch (a losing hedge) aborts the upstream call and frees its permit.
+		result.whenComplete((response, error) -> {
+			if (result.isCancelled()) {
+				upstream.cancel(true);
+			}
+		});
+		upstream.copy().orTimeout(timeoutMs, TimeUnit.MILLISECONDS).whenComplete((response, error) -> {
+			permit.complete(permitOutcome(error));
+			recordOutcome(breaker, error);
+			if (error == null) {
+				result.complete(response);
+				return;
+			}
+			Throwable cause = unwrap(error);
+			if (cause instanceof TimeoutException) {
+				upstream.cancel(true);
+				result.completeExceptionally(providerTimeout(synapsysRequest.getLlmProvider(), timeoutMs));
+				return;
+			}
+			result.completeExceptionally(cause);
+		});
+	}
+
+	private static ProviderBulkhead.Permit.Outcome permitOutcome(Throwable error) {
+		if (error == null) {
+			return ProviderBulkhead.Permit.Outcome.SUCCESS;
+		}
+		Throwable cause = unwrap(error);
+		boolean overloaded = cause instanceof TimeoutException
+				|| (cause instanceof LlmProviderException llmProviderException
+						&& (llmProviderException.getType() == LlmProviderException.Type.RATE_LIMIT
+								|| llmProviderException.getType() == LlmProviderException.Type.UNAVAILABLE));
+		return overloaded ? ProviderBulkhead.Permit.Outcome.DROPPED : ProviderBulkhead.Permit.Outcome.IGNORED;
+	}
+
+	private static void recordOutcome(CircuitBreaker breaker, Throwable error) {
+		if (error == null) {
+			breaker.onSuccess();
+			return;
+		}
+		Throwable cause = unwrap(error);
+		boolean healthSignal = !(cause instanceof CancellationException || cause instanceof GuardViolationException)
+				&& !(cause instanceof LlmProviderException llmProviderException
+						&& llmProviderException.getType() != LlmProviderException.Type.UNAVAILABLE
+						&& llmProviderException.getType() != LlmProviderException.Type.UNKNOWN);
+		if (healthSignal) {
+			breaker.onFailure();
+		} else {
+			breaker.onIgnored();
+		}
+	}
+
+	private SynapsysResponse complete(SynapsysRequest synapsysRequest, LlmResponse clearedResult,
+			CachePolicy cachePolicy, String cacheTier, boolean coalesced, long startTime, Deadline deadline) {
+		deadline.check("postflight");
+
+		long duration = System.currentTimeMillis() - startTime;
+		log.info("<<< TX_SUCCESS | Time: {}ms | Tokens: {} (In:{} / Out:{})", duration,
+				clearedResult.usage().totalTokens(), clearedResult.usage().promptTokens(),
+				clearedResult.usage().completionTokens());
+
+		Map<String, Object> metadata = getMetadata(clearedResult);
+		if (cachePolicy.enabled()) {
+			metadata.put("cache", cacheTier);
+		}
+		if (coalesced) {
+			metadata.put("coalesced", true);
 		}
+		return new SynapsysResponse("synapsys", clearedResult.content(), metadata);
+	}
+
+	private static GuardViolationException providerTimeout(String providerId, long timeoutMs) {
+		Map<String, Object> evidence = new LinkedHashMap<>();
+		evidence.put("category", "provider_timeout");
+		evidence.put("provider", providerId);
+		evidence.put("timeoutMs", timeoutMs);
+		return new GuardViolationException("PROVIDER_TIMEOUT", "", "BrokerService", evidence);
+	}
+
+	private static Throwable unwrap(Throwable error) {
+		Throwable cause = error;
+		while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+				&& cause.getCause() != null) {
+			cause = cause.getCause();
+		}
+		return cause;
+	}
+
+	private SynapsysResponse providerErrorResponse(LlmProviderException llmProviderException) {
+		return new SynapsysResponse("synapsys", llmProviderException.getNeutralMessage(),
+				Map.of("status", "error", "reason", llmProviderException.getType().name().toLowerCase(), "retryable",
+						llmProviderException.getType() == LlmProviderException.Type.RATE_LIMIT
+								|| llmProviderException.getType() == LlmProviderException.Type.UNAVAILABLE));
+	}
+
+	private void runPreFlightGuards(SynapsysRequest synapsysRequest) {
+		guardPlans.planFor(synapsysRequest.getSender()).preFlight().run(synapsysRequest, llmExec.contextual());
+	}
+
+	private LlmResponse runPostFlightGuards(SynapsysRequest synapsysRequest, LlmResponse llmResult) {
+		String safeContent = applyPostFlightGuards(guardPlans.planFor(synapsysRequest.getSender()).postFlight(),
+				synapsysRequest, llmResult.content());
 
 		if (!safeContent.equals(llmResult.content())) {
 			return new LlmResponse(safeContent, llmResult.usage(), llmResult.providerUsed());
@@ -165,40 +701,59 @@ public class BrokerService {
 		return llmResult;
 	}
 
-	private LlmResponse callWithTimeout(Callable<LlmResponse> work, Duration timeout, String providerId) {
-		Future<LlmResponse> fut = llmExec.submit(work);
-		try {
-			return fut.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
-		} catch (TimeoutException e) {
-			fut.cancel(true);
-			Map<String, Object> evidence = new LinkedHashMap<>();
-			evidence.put("category", "provider_timeout");
-			evidence.put("provider", providerId);
-			evidence.put("timeoutMs", timeout.toMillis());
-			throw new GuardViolationException("PROVIDER_TIMEOUT", "", "BrokerService", evidence);
-		} catch (ExecutionException e) {
-			Throwable c = e.getCause();
-			if (c instanceof RuntimeException re) {
-				throw re;
+	private String applyPostFlightGuards(List<PostFlightGuard> guards, SynapsysRequest synapsysRequest,
+			String content) {
+		String safeContent = content;
+		for (PostFlightGuard guard : guards) {
+			String preGuard = safeContent;
+			safeContent = guard.sanitize(synapsysRequest, safeContent);
+			if (!preGuard.equals(safeContent)) {
+				log.warn("<<< TX_SANITIZED | guard={}", guard.getClass().getSimpleName());
 			}
-			throw new RuntimeException(c);
-		} catch (InterruptedException e) {
-			Thread.currentThread().interrupt();
-			throw new GuardViolationException("UNAVAILABLE", "Service unavailable.", "BrokerService",
-					Map.of("category", "interrupted"));
 		}
+		return safeContent;
+	}
+
+	private CachePolicy cachePolicyFor(String sender) {
+		if (!senderConfigService.hasConfig(sender)) {
+			return CachePolicy.disabled();
+		}
+		SenderConfig cfg = senderConfigService.getRequired(sender);
+		return cfg.cachePolicy();
+	}
+
+	private double schedulingWeightFor(String sender) {
+		if (!senderConfigService.hasConfig(sender)) {
+			return 1.0;
+		}
+		return senderConfigService.getRequired(sender).schedulingWeight();
+	}
+
+	private boolean providerPromptCacheFor(String sender) {
+		return senderConfigService.hasConfig(sender) && senderConfigService.getRequired(sender).providerPromptCache();
+	}
+
+	private boolean speculativeDispatchFor(String sender) {
+		return senderConfigService.hasConfig(sender) && senderConfigService.getRequired(sender).speculativeDispatch();
+	}
+
+	private RoutingPolicy routingPolicyFor(String sender) {
+		if (!senderConfigService.hasConfig(sender)) {
+			return RoutingPolicy.none();
+		}
+		return senderConfigService.getRequired(sender).routingPolicy();
 	}
 
-	private String resolveSystemInstruction(String sender, SynapsysRequest request) {
+	private SystemInstruction resolveSystemInstruction(String sender, SynapsysRequest request) {
 		for (SystemInstructionResolver resolver : systemInstructionResolvers) {
 			if (resolver.appliesTo(sender)) {
-				String candidate = resolver.resolve(request);
+				SystemInstruction candidate = resolver.resolveInstruction(request);
 				if (candidate != null && !candidate.isBlank()) {
 					return candidate;
 				}
 			}
 		}
-		return "";
+		return SystemInstruction.EMPTY;
 	}
 
 	private Map<String, Object> getMetadata(LlmResponse result) {
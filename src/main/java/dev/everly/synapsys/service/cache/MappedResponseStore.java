@@ -0,0 +1,225 @@
+package dev.everly.synapsys.service.cache;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.everly.synapsys.service.llm.message.LlmResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// Append-only log in a fixed-size memory-mapped file. The index is rebuilt by scanning on startup; when the file
+// fills up it is reset, which is acceptable for a cache. Values are sealed with AES-GCM, bound to their digest, so
+// nothing is written in plaintext; the tier stays off without a key. Reads take no lock: records are immutable once
+// indexed, and only a reset can overwrite one, which the optimistic stamp detects.
+@Component
+@Slf4j
+public class MappedResponseStore {
+
+	private static final int MAGIC = 0x53594E45;
+	private static final int HEADER_BYTES = 8;
+	private static final int DIGEST_BYTES = 64;
+	private static final int IV_BYTES = 12;
+	private static final int TAG_BITS = 128;
+
+	private final ObjectMapper objectMapper;
+	private final SecretKey key;
+	private final SecureRandom random = new SecureRandom();
+	private final MappedByteBuffer buffer;
+	private final Map<String, Integer> index = new ConcurrentHashMap<>();
+	private final StampedLock resets = new StampedLock();
+	private final Object appendLock = new Object();
+
+	public MappedResponseStore(ObjectMapper objectMapper, @Value("${synapsys.cache.disk.path:}") String path,
+			@Value("${synapsys.cache.disk.sizeMb:64}") int sizeMb, @Value("${synapsys.cache.disk.key:}") String key) {
+		this.objectMapper = objectMapper;
+		boolean configured = path != null && !path.isBlank();
+		if (configured && (key == null || key.isBlank())) {
+			log.warn(">>> Disk response cache disabled: synapsys.cache.disk.key is not set");
+		}
+		this.key = configured && key != null && !key.isBlank() ? aesKey(key.trim()) : null;
+		this.buffer = this.key == null ? null : open(Path.of(path.trim()), sizeMb);
+		if (buffer != null) {
+			rebuildIndex();
+			log.info(">>> Disk response cache at {} ({} MB, {} entries)", path, sizeMb, index.size());
+		}
+	}
+
+	private static MappedByteBuffer open(Path path, int sizeMb) {
+		try {
+			if (path.getParent() != null) {
+				Files.createDirectories(path.getParent());
+			}
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE)) {
+				return channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) sizeMb * 1024 * 1024);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to open disk response cache: " + path, e);
+		}
+	}
+
+	private static SecretKey aesKey(String base64) {
+		byte[] bytes = Base64.getDecoder().decode(base64);
+		if (bytes.length != 16 && bytes.length != 24 && bytes.length != 32) {
+			throw new IllegalStateException("synapsys.cache.disk.key must be a base64 AES key of 16, 24 or 32 bytes");
+		}
+		return new SecretKeySpec(bytes, "AES");
+	}
+
+	public boolean isEnabled() {
+		return buffer != null;
+	}
+
+	public ResponseCache.CachedResponse get(String digest) {
+		if (buffer == null) {
+			return null;
+		}
+		long stamp = resets.tryOptimisticRead();
+		Integer offset = index.get(digest);
+		if (offset == null) {
+			return null;
+		}
+		long expiresAt = buffer.getLong(offset + 4);
+		int valueOffset = offset + 12 + DIGEST_BYTES;
+		int length = buffer.getInt(valueOffset);
+		byte[] sealed = length > 0 && valueOffset + 4 + length <= buffer.capacity() ? new byte[length] : null;
+		if (sealed != null) {
+			buffer.get(valueOffset + 4, sealed);
+		}
+		if (!resets.validate(stamp) || sealed == null) {
+			return null;
+		}
+		if (System.currentTimeMillis() >= expiresAt) {
+			index.remove(digest, offset);
+			return null;
+		}
+		try {
+			return new ResponseCache.CachedResponse(
+					objectMapper.readValue(unseal(digest, sealed), LlmResponse.class), expiresAt);
+		} catch (IOException | GeneralSecurityException e) {
+			index.remove(digest, offset);
+			return null;
+		}
+	}
+
+	public void put(String digest, ResponseCache.CachedResponse entry) {
+		if (buffer == null) {
+			return;
+		}
+		byte[] value;
+		try {
+			value = seal(digest, objectMapper.writeValueAsBytes(entry.response()));
+		} catch (IOException | GeneralSecurityException e) {
+			log.warn("Disk response cache serialization failed: {}", e.toString());
+			return;
+		}
+
+		int recordBytes = 4 + 8 + DIGEST_BYTES + 4 + value.length;
+		if (HEADER_BYTES + recordBytes + 4 > buffer.capacity()) {
+			return;
+		}
+		synchronized (appendLock) {
+			int position = buffer.getInt(4);
+			if (position + recordBytes + 4 > buffer.capacity()) {
+				log.info("Disk response cache full; resetting");
+				long stamp = resets.writeLock();
+				try {
+					index.clear();
+					buffer.putInt(4, HEADER_BYTES);
+				} finally {
+					resets.unlockWrite(stamp);
+				}
+				position = HEADER_BYTES;
+			}
+
+			buffer.putInt(position, recordBytes);
+			buffer.putLong(position + 4, entry.expiresAtMillis());
+			buffer.put(position + 12, digest.getBytes(StandardCharsets.US_ASCII));
+			buffer.putInt(position + 12 + DIGEST_BYTES, value.length);
+			buffer.put(position + 16 + DIGEST_BYTES, value);
+			buffer.putInt(position + recordBytes, 0);
+			buffer.putInt(4, position + recordBytes);
+			// Publishing through the concurrent index makes the record's bytes visible to readers that find it.
+			index.put(digest, position);
+		}
+	}
+
+	private byte[] seal(String digest, byte[] plain) throws GeneralSecurityException {
+		byte[] iv = new byte[IV_BYTES];
+		random.nextBytes(iv);
+		Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+		cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+		cipher.updateAAD(digest.getBytes(StandardCharsets.US_ASCII));
+		byte[] sealed = new byte[IV_BYTES + cipher.getOutputSize(plain.length)];
+		System.arraycopy(iv, 0, sealed, 0, IV_BYTES);
+		cipher.doFinal(plain, 0, plain.length, sealed, IV_BYTES);
+		return sealed;
+	}
+
+	private byte[] unseal(String digest, byte[] sealed) throws GeneralSecurityException {
+		if (sealed.length <= IV_BYTES) {
+			throw new GeneralSecurityException("Truncated disk cache record");
+		}
+		Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+		cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, sealed, 0, IV_BYTES));
+		cipher.updateAAD(digest.getBytes(StandardCharsets.US_ASCII));
+		return cipher.doFinal(sealed, IV_BYTES, sealed.length - IV_BYTES);
+	}
+
+	private void rebuildIndex() {
+		if (buffer.getInt(0) != MAGIC) {
+			buffer.putInt(0, MAGIC);
+			buffer.putInt(4, HEADER_BYTES);
+			buffer.putInt(HEADER_BYTES, 0);
+			return;
+		}
+		long now = System.currentTimeMillis();
+		int end = Math.min(buffer.getInt(4), buffer.capacity());
+		int position = HEADER_BYTES;
+		while (position < end) {
+			int recordBytes = buffer.getInt(position);
+			if (recordBytes <= 0 || position + recordBytes > end) {
+				break;
+			}
+			byte[] digest = new byte[DIGEST_BYTES];
+			buffer.get(position + 12, digest);
+			String key = new String(digest, StandardCharsets.US_ASCII);
+			if (buffer.getLong(position + 4) > now) {
+				index.put(key, position);
+			} else {
+				index.remove(key);
+			}
+			position += recordBytes;
+		}
+	}
+
+	@PreDestroy
+	void flush() {
+		if (buffer != null) {
+			synchronized (appendLock) {
+				buffer.force();
+			}
+		}
+	}
+}
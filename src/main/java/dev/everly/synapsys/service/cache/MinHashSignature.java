@@ -0,0 +1,82 @@
+package dev.everly.synapsys.service.cache;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+
+public final class MinHashSignature {
+
+	static final int HASHES = 128;
+	static final int BANDS = 32;
+	static final int ROWS = HASHES / BANDS;
+
+	private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+	private static final long[] SEEDS = new SplittableRandom(0x5A4E4150L).longs(HASHES).toArray();
+
+	private final long[] minima;
+
+	private MinHashSignature(long[] minima) {
+		this.minima = minima;
+	}
+
+	public static MinHashSignature of(String canonicalContent) {
+		long[] minima = new long[HASHES];
+		Arrays.fill(minima, Long.MAX_VALUE);
+		for (String token : tokens(canonicalContent)) {
+			long base = fnv1a64(token);
+			for (int i = 0; i < HASHES; i++) {
+				long h = mix64(base ^ SEEDS[i]);
+				if (h < minima[i]) {
+					minima[i] = h;
+				}
+			}
+		}
+		return new MinHashSignature(minima);
+	}
+
+	private static Set<String> tokens(String s) {
+		Set<String> out = new HashSet<>();
+		for (String t : NON_WORD.split(s.toLowerCase(Locale.ROOT))) {
+			if (!t.isEmpty()) {
+				out.add(t);
+			}
+		}
+		return out;
+	}
+
+	private static long fnv1a64(String s) {
+		long h = 0xcbf29ce484222325L;
+		for (int i = 0; i < s.length(); i++) {
+			h ^= s.charAt(i);
+			h *= 0x100000001b3L;
+		}
+		return h;
+	}
+
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	public double similarity(MinHashSignature other) {
+		int same = 0;
+		for (int i = 0; i < HASHES; i++) {
+			if (minima[i] == other.minima[i]) {
+				same++;
+			}
+		}
+		return (double) same / HASHES;
+	}
+
+	long band(int band) {
+		long h = 0x9E3779B97F4A7C15L;
+		for (int r = 0; r < ROWS; r++) {
+			h = mix64(h ^ minima[band * ROWS + r]);
+		}
+		return h;
+	}
+}
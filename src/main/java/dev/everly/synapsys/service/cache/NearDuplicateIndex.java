@@ -0,0 +1,103 @@
+package dev.everly.synapsys.service.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+// Locality-sensitive (MinHash + banding) index over cached prompts. Candidates are only looked up within the same
+// sender/provider/model/instruction/context partition; the response itself stays in the exact-match tier.
+@Component
+public class NearDuplicateIndex {
+
+	private final Cache<ResponseCacheKey, Indexed> signatures;
+	private final Map<String, Set<ResponseCacheKey>> buckets = new ConcurrentHashMap<>();
+
+	public NearDuplicateIndex(@Value("${synapsys.cache.near.maxEntries:50000}") long maxEntries) {
+		this.signatures = Caffeine.newBuilder().maximumSize(maxEntries).expireAfter(new IndexedTtl())
+				.removalListener((ResponseCacheKey key, Indexed value, RemovalCause cause) -> {
+					if (key != null && value != null && cause != RemovalCause.REPLACED) {
+						unlink(key, value.signature());
+					}
+				}).build();
+	}
+
+	private static String bucketKey(ResponseCacheKey key, int band, long bandHash) {
+		return key.partition() + "\n" + band + ":" + bandHash;
+	}
+
+	public void add(ResponseCacheKey key, Duration ttl) {
+		MinHashSignature signature = MinHashSignature.of(key.canonicalContent());
+		for (int band = 0; band < MinHashSignature.BANDS; band++) {
+			buckets.computeIfAbsent(bucketKey(key, band, signature.band(band)), k -> ConcurrentHashMap.newKeySet())
+					.add(key);
+		}
+		signatures.put(key, new Indexed(signature, System.nanoTime() + ttl.toNanos()));
+	}
+
+	public ResponseCacheKey findSimilar(ResponseCacheKey probe, double threshold) {
+		MinHashSignature signature = MinHashSignature.of(probe.canonicalContent());
+		ResponseCacheKey best = null;
+		double bestScore = threshold;
+		for (int band = 0; band < MinHashSignature.BANDS; band++) {
+			Set<ResponseCacheKey> candidates = buckets.get(bucketKey(probe, band, signature.band(band)));
+			if (candidates == null) {
+				continue;
+			}
+			for (ResponseCacheKey candidate : candidates) {
+				Indexed indexed = signatures.getIfPresent(candidate);
+				if (indexed == null) {
+					continue;
+				}
+				double score = signature.similarity(indexed.signature());
+				if (score >= bestScore) {
+					best = candidate;
+					bestScore = score;
+				}
+			}
+		}
+		return best;
+	}
+
+	private void unlink(ResponseCacheKey key, MinHashSignature signature) {
+		if (signatures.asMap().containsKey(key)) {
+			return;
+		}
+		for (int band = 0; band < MinHashSignature.BANDS; band++) {
+			String bucket = bucketKey(key, band, signature.band(band));
+			buckets.computeIfPresent(bucket, (k, members) -> {
+				members.remove(key);
+				return members.isEmpty() ? null : members;
+			});
+		}
+	}
+
+	private record Indexed(MinHashSignature signature, long expiresAtNanos) {
+	}
+
+	private static final class IndexedTtl implements Expiry<ResponseCacheKey, Indexed> {
+
+		@Override
+		public long expireAfterCreate(ResponseCacheKey key, Indexed value, long currentTime) {
+			return Math.max(0, value.expiresAtNanos() - currentTime);
+		}
+
+		@Override
+		public long expireAfterUpdate(ResponseCacheKey key, Indexed value, long currentTime, long currentDuration) {
+			return Math.max(0, value.expiresAtNanos() - currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(ResponseCacheKey key, Indexed value, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
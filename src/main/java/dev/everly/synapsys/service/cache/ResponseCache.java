@@ -0,0 +1,114 @@
+package dev.everly.synapsys.service.cache;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import dev.everly.synapsys.service.llm.message.LlmResponse;
+import dev.everly.synapsys.service.sender.CachePolicy;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class ResponseCache {
+
+	private final Cache<ResponseCacheKey, CachedResponse> heap;
+	private final MappedResponseStore disk;
+	private final NearDuplicateIndex nearIndex;
+
+	public ResponseCache(@Value("${synapsys.cache.maxHeapBytes:33554432}") long maxHeapBytes,
+			MappedResponseStore disk, NearDuplicateIndex nearIndex) {
+		this.disk = disk;
+		this.nearIndex = nearIndex;
+		this.heap = Caffeine.newBuilder().maximumWeight(maxHeapBytes)
+				.weigher((ResponseCacheKey k, CachedResponse v) -> k.weight() + v.weight())
+				.expireAfter(new RemainingTtl()).build();
+		log.info(">>> Response cache: heap={} bytes, disk tier {}", maxHeapBytes,
+				disk.isEnabled() ? "enabled" : "disabled");
+	}
+
+	public Hit lookup(ResponseCacheKey key, CachePolicy policy) {
+		LlmResponse exact = get(key, policy);
+		if (exact != null) {
+			return new Hit(exact, "exact");
+		}
+		if (!policy.nearEnabled()) {
+			return null;
+		}
+		ResponseCacheKey similar = nearIndex.findSimilar(key, policy.nearThreshold());
+		LlmResponse near = similar == null ? null : get(similar, policy);
+		return near == null ? null : new Hit(near, "near");
+	}
+
+	private LlmResponse get(ResponseCacheKey key, CachePolicy policy) {
+		CachedResponse hit = heap.getIfPresent(key);
+		if (hit != null) {
+			return hit.response();
+		}
+		if (!policy.diskEnabled()) {
+			return null;
+		}
+		hit = disk.get(key.digest());
+		if (hit != null && !hit.isExpired()) {
+			heap.put(key, hit);
+			return hit.response();
+		}
+		return null;
+	}
+
+	public void put(ResponseCacheKey key, LlmResponse response, CachePolicy policy) {
+		Duration ttl = Duration.ofSeconds(policy.ttlSeconds());
+		CachedResponse entry = new CachedResponse(response, System.currentTimeMillis() + ttl.toMillis());
+		heap.put(key, entry);
+		if (policy.diskEnabled()) {
+			disk.put(key.digest(), entry);
+		}
+		if (policy.nearEnabled()) {
+			nearIndex.add(key, ttl);
+		}
+	}
+
+	public record Hit(LlmResponse response, String tier) {
+	}
+
+	public record CachedResponse(LlmResponse response, long expiresAtMillis) {
+
+		boolean isExpired() {
+			return System.currentTimeMillis() >= expiresAtMillis;
+		}
+
+		int weight() {
+			String content = response.content() == null ? "" : response.content();
+			return 64 + 2 * content.length();
+		}
+	}
+
+	private static final class RemainingTtl implements Expiry<ResponseCacheKey, CachedResponse> {
+
+		private static long remainingNanos(CachedResponse value) {
+			return Duration.ofMillis(Math.max(0, value.expiresAtMillis() - System.currentTimeMillis())).toNanos();
+		}
+
+		@Override
+		public long expireAfterCreate(ResponseCacheKey key, CachedResponse value, long currentTime) {
+			return remainingNanos(value);
+		}
+
+		@Override
+		public long expireAfterUpdate(ResponseCacheKey key, CachedResponse value, long currentTime,
+				long currentDuration) {
+			return remainingNanos(value);
+		}
+
+		@Override
+		public long expireAfterRead(ResponseCacheKey key, CachedResponse value, long currentTime,
+				long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package dev.everly.synapsys.service.cache;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import dev.everly.synapsys.service.llm.ContextKeys;
+import dev.everly.synapsys.util.Digests;
+
+public record ResponseCacheKey(String sender, String providerId, String model, String instructionHash,
+		String contextDigest, String canonicalContent) {
+
+	// Context entries the key already carries, or that only change how a provider is called, never what it answers.
+	private static final Set<String> NEUTRAL_CONTEXT = Set.of(ContextKeys.SYSTEM_INSTRUCTION_SHA256,
+			ContextKeys.PROVIDER_PROMPT_CACHE);
+
+	// Any other entry (a file-search store, fields added by a context augmenter) can change the answer, so requests
+	// only share a cache entry or a flight when they agree on all of them.
+	public static String contextDigest(Map<String, Object> context) {
+		Map<String, Object> relevant = new TreeMap<>(context);
+		relevant.keySet().removeAll(NEUTRAL_CONTEXT);
+		return relevant.isEmpty() ? "" : Digests.sha256Hex(relevant.toString());
+	}
+
+	public String partition() {
+		return String.join("\n", sender, providerId, model, instructionHash, contextDigest);
+	}
+
+	public String digest() {
+		return Digests.sha256Hex(partition() + "\n" + canonicalContent);
+	}
+
+	int weight() {
+		return 64 + 2 * (sender.length() + providerId.length() + model.length() + instructionHash.length()
+				+ contextDigest.length() + canonicalContent.length());
+	}
+}
@@ -1,13 +1,7 @@
 package dev.everly.synapsys.service.context;
 
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.security.MessageDigest;
-import java.util.HexFormat;
 import java.util.Locale;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
@@ -16,36 +10,26 @@ import dev.everly.synapsys.service.llm.message.SynapsysRequest;
 import dev.everly.synapsys.service.secrets.SecretsLocator;
 import dev.everly.synapsys.service.sender.SenderConfig;
 import dev.everly.synapsys.service.sender.SenderConfigService;
-import lombok.extern.slf4j.Slf4j;
 
 @Component
 @Order(0)
-@Slf4j
 public final class RegistrySystemInstructionResolver implements SystemInstructionResolver {
 
 	private final SenderConfigService senderConfigService;
 	private final SecretsLocator secretsLocator;
-	private final Map<String, String> instructionCache = new ConcurrentHashMap<>();
+	private final SystemInstructionStore instructionStore;
 
-	public RegistrySystemInstructionResolver(SenderConfigService senderConfigService, SecretsLocator secretsLocator) {
+	public RegistrySystemInstructionResolver(SenderConfigService senderConfigService, SecretsLocator secretsLocator,
+			SystemInstructionStore instructionStore) {
 		this.senderConfigService = senderConfigService;
 		this.secretsLocator = secretsLocator;
+		this.instructionStore = instructionStore;
 	}
 
 	private static String normalize(String senderId) {
 		return senderId.trim().toLowerCase(Locale.ROOT);
 	}
 
-	private static String sha256Hex(String s) {
-		try {
-			MessageDigest md = MessageDigest.getInstance("SHA-256");
-			byte[] dig = md.digest(s.getBytes(java.nio.charset.StandardCharsets.UTF_8));
-			return HexFormat.of().formatHex(dig);
-		} catch (Exception e) {
-			return "unavailable";
-		}
-	}
-
 	@Override
 	public boolean appliesTo(String sender) {
 		return sender != null && !sender.isBlank();
@@ -53,29 +37,20 @@ public final class RegistrySystemInstructionResolver implements SystemInstructio
 
 	@Override
 	public String resolve(SynapsysRequest request) {
+		return resolveInstruction(request).text();
+	}
+
+	@Override
+	public SystemInstruction resolveInstruction(SynapsysRequest request) {
 		String senderId = normalize(request.getSender());
 		SenderConfig cfg = senderConfigService.getRequired(senderId);
 
 		String rel = cfg.systemInstructionPath();
 		if (rel == null || rel.isBlank()) {
-			return "";
+			return SystemInstruction.EMPTY;
 		}
 
-		return instructionCache.computeIfAbsent(senderId, _ignored -> readInstruction(rel));
-	}
-
-	private String readInstruction(String relativePath) {
-		Path path = secretsLocator.baseDir().resolve(relativePath).normalize();
-
-		try {
-			String text = Files.readString(path);
-
-			log.info("Loaded system instructions");
-
-			return text;
-
-		} catch (IOException e) {
-			throw new IllegalStateException("Failed to read system instructions");
-		}
+		Path path = secretsLocator.baseDir().resolve(rel).normalize();
+		return instructionStore.load(path);
 	}
 }
@@ -0,0 +1,17 @@
+package dev.everly.synapsys.service.context;
+
+import dev.everly.synapsys.util.Digests;
+
+public record SystemInstruction(String text, String sha256) {
+
+	public static final SystemInstruction EMPTY = of("");
+
+	public static SystemInstruction of(String text) {
+		String value = text == null ? "" : text;
+		return new SystemInstruction(value, Digests.sha256Hex(value));
+	}
+
+	public boolean isBlank() {
+		return text.isBlank();
+	}
+}
@@ -6,4 +6,8 @@ public interface SystemInstructionResolver {
 	boolean appliesTo(String sender);
 
 	String resolve(SynapsysRequest request);
+
+	default SystemInstruction resolveInstruction(SynapsysRequest request) {
+		return SystemInstruction.of(resolve(request));
+	}
 }
@@ -0,0 +1,94 @@
+package dev.everly.synapsys.service.context;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import dev.everly.synapsys.service.metrics.MetricsContributor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class SystemInstructionStore implements MetricsContributor {
+
+	private final long checkIntervalMs;
+	private final Map<Path, Entry> byPath = new ConcurrentHashMap<>();
+	// Content-addressed: senders whose files hold identical text share one instance and one hash.
+	private final Map<String, SystemInstruction> bySha = new ConcurrentHashMap<>();
+
+	public SystemInstructionStore(@Value("${synapsys.instructions.checkIntervalMs:5000}") long checkIntervalMs) {
+		this.checkIntervalMs = checkIntervalMs;
+	}
+
+	// Files are re-stat'ed at most once per check interval and re-read only when their modification time moves.
+	// Disk work happens outside any map bin, so a slow read never blocks lookups for other paths.
+	public SystemInstruction load(Path path) {
+		long now = System.currentTimeMillis();
+		Entry entry = byPath.get(path);
+		if (entry != null && now - entry.checkedAt() < checkIntervalMs) {
+			return entry.instruction();
+		}
+
+		try {
+			FileTime modified = Files.getLastModifiedTime(path);
+			if (entry != null && entry.modified().equals(modified)) {
+				byPath.put(path, new Entry(entry.instruction(), modified, now));
+				return entry.instruction();
+			}
+			SystemInstruction instruction = intern(Files.readString(path));
+			byPath.put(path, new Entry(instruction, modified, now));
+			if (entry == null) {
+				log.info("Loaded system instructions");
+			} else if (!entry.instruction().sha256().equals(instruction.sha256())) {
+				log.info("Reloaded system instructions");
+				prune();
+			}
+			return instruction;
+
+		} catch (IOException e) {
+			if (entry != null) {
+				log.warn("System instructions unreadable; keeping previous version: {}", e.toString());
+				byPath.put(path, new Entry(entry.instruction(), entry.modified(), now));
+				return entry.instruction();
+			}
+			throw new IllegalStateException("Failed to read system instructions");
+		}
+	}
+
+	private SystemInstruction intern(String text) {
+		SystemInstruction fresh = SystemInstruction.of(text);
+		SystemInstruction existing = bySha.putIfAbsent(fresh.sha256(), fresh);
+		return existing == null ? fresh : existing;
+	}
+
+	private void prune() {
+		Set<String> live = byPath.values().stream().map(e -> e.instruction().sha256()).collect(Collectors.toSet());
+		bySha.keySet().retainAll(live);
+	}
+
+	@Override
+	public String metricsName() {
+		return "instructions";
+	}
+
+	@Override
+	public Map<String, Object> metrics() {
+		Map<String, Object> out = new LinkedHashMap<>();
+		out.put("files", byPath.size());
+		out.put("distinct", bySha.size());
+		out.put("chars", bySha.values().stream().mapToLong(i -> i.text().length()).sum());
+		return out;
+	}
+
+	private record Entry(SystemInstruction instruction, FileTime modified, long checkedAt) {
+	}
+}
@@ -0,0 +1,52 @@
+package dev.everly.synapsys.service.execution;
+
+// AIMD over observed call latency: the limit creeps up by one slot per window of saturated successes, backs off a
+// little when short-term latency drifts above the long-term baseline, and halves on a rate limit or timeout.
+// Not thread-safe; ProviderBulkhead calls it under its own lock.
+final class AdaptiveLimit {
+
+	private static final double SHORT_ALPHA = 0.3;
+	private static final double LONG_ALPHA = 0.02;
+	private static final double LATENCY_TOLERANCE = 1.5;
+	private static final double LATENCY_BACKOFF = 0.9;
+	private static final double DROP_BACKOFF = 0.5;
+
+	private final int minLimit;
+	private final int maxLimit;
+
+	private double limit;
+	private double shortLatency;
+	private double longLatency;
+
+	AdaptiveLimit(int minLimit, int maxLimit) {
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.limit = Math.max(minLimit, maxLimit / 2);
+	}
+
+	int limit() {
+		return (int) limit;
+	}
+
+	int onSuccess(long latencyNanos, int inFlight) {
+		if (longLatency == 0) {
+			shortLatency = latencyNanos;
+			longLatency = latencyNanos;
+		} else {
+			shortLatency += SHORT_ALPHA * (latencyNanos - shortLatency);
+			longLatency += LONG_ALPHA * (latencyNanos - longLatency);
+		}
+
+		if (shortLatency > longLatency * LATENCY_TOLERANCE) {
+			limit = Math.max(minLimit, limit * LATENCY_BACKOFF);
+		} else if (inFlight + 1 >= (int) limit) {
+			limit = Math.min(maxLimit, limit + 1.0 / limit);
+		}
+		return limit();
+	}
+
+	int onDropped() {
+		limit = Math.max(minLimit, limit * DROP_BACKOFF);
+		return limit();
+	}
+}
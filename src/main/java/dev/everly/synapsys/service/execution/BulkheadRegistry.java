@@ -0,0 +1,85 @@
+package dev.everly.synapsys.service.execution;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import dev.everly.synapsys.config.BulkheadConfig;
+import dev.everly.synapsys.service.metrics.MetricsContributor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class BulkheadRegistry implements MetricsContributor {
+
+	private final BulkheadConfig config;
+	private final Map<String, ProviderBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+	public BulkheadRegistry(BulkheadConfig config) {
+		this.config = config;
+		config.limits().forEach((key, limit) -> log.info(
+				">>> Bulkhead [{}] maxConcurrent={} maxQueue={} waitMs={} adaptive={}", key, limit.maxConcurrent(),
+				limit.maxQueue(), limit.maxQueueWaitMs(), limit.adaptive()));
+	}
+
+	public CompletableFuture<ProviderBulkhead.Permit> acquire(String providerId, String model, String sender,
+			double weight) {
+		ProviderBulkhead bulkhead = bulkheadFor(providerId, model);
+		return bulkhead == null ? CompletableFuture.completedFuture(ProviderBulkhead.Permit.unbounded())
+				: bulkhead.acquire(sender, weight);
+	}
+
+	public ProviderBulkhead.Permit acquireBlocking(String providerId, String model, String sender, double weight) {
+		try {
+			return acquire(providerId, model, sender, weight).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException re) {
+				throw re;
+			}
+			throw e;
+		}
+	}
+
+	@Override
+	public String metricsName() {
+		return "bulkheads";
+	}
+
+	@Override
+	public Map<String, Object> metrics() {
+		Map<String, Object> out = new TreeMap<>();
+		bulkheads.forEach((key, bulkhead) -> {
+			Map<String, Object> stats = new LinkedHashMap<>();
+			stats.put("limit", bulkhead.limit());
+			stats.put("inFlight", bulkhead.inFlight());
+			stats.put("queued", bulkhead.queued());
+			out.put(key, stats);
+		});
+		return out;
+	}
+
+	private ProviderBulkhead bulkheadFor(String providerId, String model) {
+		String modelKey = providerId + "/" + model;
+		BulkheadConfig.Limit limit = config.limits().get(modelKey);
+		String key = modelKey;
+		if (limit == null) {
+			limit = config.limits().get(providerId);
+			key = providerId;
+		}
+		if (limit == null || limit.maxConcurrent() <= 0) {
+			return null;
+		}
+		BulkheadConfig.Limit resolved = limit;
+		return bulkheads.computeIfAbsent(key,
+				k -> new ProviderBulkhead(k, resolved.maxConcurrent(), resolved.maxQueue(),
+						Duration.ofMillis(resolved.maxQueueWaitMs()),
+						resolved.adaptive() ? new AdaptiveLimit(resolved.minConcurrent(), resolved.maxConcurrent())
+								: null));
+	}
+}
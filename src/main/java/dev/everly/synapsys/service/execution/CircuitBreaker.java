@@ -0,0 +1,94 @@
+package dev.everly.synapsys.service.execution;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public final class CircuitBreaker {
+
+	private final String endpoint;
+	private final int failureThreshold;
+	private final long openMillis;
+	private final int halfOpenProbes;
+
+	private State state = State.CLOSED;
+	private int consecutiveFailures;
+	private long openedAt;
+	private int probesInFlight;
+	private long opened;
+	private long rejected;
+
+	CircuitBreaker(String endpoint, int failureThreshold, long openMillis, int halfOpenProbes) {
+		this.endpoint = endpoint;
+		this.failureThreshold = failureThreshold;
+		this.openMillis = openMillis;
+		this.halfOpenProbes = halfOpenProbes;
+	}
+
+	public String getEndpoint() {
+		return endpoint;
+	}
+
+	public synchronized State state() {
+		return state;
+	}
+
+	public synchronized void acquire() {
+		if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis) {
+			state = State.HALF_OPEN;
+			probesInFlight = 0;
+			log.info(">>> Circuit [{}] half-open", endpoint);
+		}
+		if (state == State.CLOSED) {
+			return;
+		}
+		if (state == State.HALF_OPEN && probesInFlight < halfOpenProbes) {
+			probesInFlight++;
+			return;
+		}
+		rejected++;
+		throw new LoadShedException("Circuit '" + endpoint + "' is " + state.name().toLowerCase());
+	}
+
+	public synchronized void onSuccess() {
+		if (state != State.CLOSED) {
+			log.info(">>> Circuit [{}] closed", endpoint);
+		}
+		state = State.CLOSED;
+		consecutiveFailures = 0;
+		probesInFlight = 0;
+	}
+
+	public synchronized void onFailure() {
+		consecutiveFailures++;
+		if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+			state = State.OPEN;
+			openedAt = System.currentTimeMillis();
+			probesInFlight = 0;
+			opened++;
+			log.warn(">>> Circuit [{}] opened after {} consecutive failures", endpoint, consecutiveFailures);
+		}
+	}
+
+	// Outcomes that say nothing about endpoint health (bad request, cancelled hedge) only return a probe slot.
+	public synchronized void onIgnored() {
+		if (state == State.HALF_OPEN && probesInFlight > 0) {
+			probesInFlight--;
+		}
+	}
+
+	public synchronized Map<String, Object> snapshot() {
+		Map<String, Object> out = new LinkedHashMap<>();
+		out.put("state", state.name().toLowerCase());
+		out.put("consecutiveFailures", consecutiveFailures);
+		out.put("opened", opened);
+		out.put("rejected", rejected);
+		return out;
+	}
+
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+}
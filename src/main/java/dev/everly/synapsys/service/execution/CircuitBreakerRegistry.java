@@ -0,0 +1,60 @@
+package dev.everly.synapsys.service.execution;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import dev.everly.synapsys.config.CircuitBreakerConfig;
+import dev.everly.synapsys.service.metrics.MetricsContributor;
+
+@Component
+public class CircuitBreakerRegistry implements MetricsContributor {
+
+	private final CircuitBreakerConfig config;
+	private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+	public CircuitBreakerRegistry(CircuitBreakerConfig config) {
+		this.config = config;
+	}
+
+	public CircuitBreaker breakerFor(String endpoint) {
+		return breakers.computeIfAbsent(endpoint, e -> new CircuitBreaker(e, config.failureThreshold(),
+				config.openMs(), config.halfOpenProbes()));
+	}
+
+	// Keyed by provider rather than endpoint, since endpoint ids can name internal hosts and this feeds the public
+	// health check. When a provider has several endpoints, the least healthy state is reported.
+	public Map<String, String> providerStates() {
+		Map<String, CircuitBreaker.State> worst = new TreeMap<>();
+		breakers.forEach((endpoint, breaker) -> {
+			int at = endpoint.indexOf('@');
+			worst.merge(at < 0 ? endpoint : endpoint.substring(0, at), breaker.state(),
+					(a, b) -> severity(a) >= severity(b) ? a : b);
+		});
+		Map<String, String> out = new TreeMap<>();
+		worst.forEach((provider, state) -> out.put(provider, state.name().toLowerCase()));
+		return out;
+	}
+
+	private static int severity(CircuitBreaker.State state) {
+		return switch (state) {
+		case OPEN -> 2;
+		case HALF_OPEN -> 1;
+		case CLOSED -> 0;
+		};
+	}
+
+	@Override
+	public String metricsName() {
+		return "breakers";
+	}
+
+	@Override
+	public Map<String, Object> metrics() {
+		Map<String, Object> out = new TreeMap<>();
+		breakers.forEach((endpoint, breaker) -> out.put(endpoint, breaker.snapshot()));
+		return out;
+	}
+}
@@ -0,0 +1,41 @@
+package dev.everly.synapsys.service.execution;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import dev.everly.synapsys.service.guard.GuardViolationException;
+
+public record Deadline(long epochMillis) {
+
+	// Set by ApiKeyAuthFilter once a signed X-SynapSys-Deadline header has been verified.
+	public static final String REQUEST_ATTRIBUTE = "synapsys.deadline";
+
+	// A client deadline can only shorten the server-side budget, never extend it.
+	public static Deadline within(long startMillis, Duration budget, Long clientDeadlineMillis) {
+		long budgetEnd = startMillis + budget.toMillis();
+		return new Deadline(clientDeadlineMillis == null ? budgetEnd : Math.min(budgetEnd, clientDeadlineMillis));
+	}
+
+	public long remainingMillis() {
+		return epochMillis - System.currentTimeMillis();
+	}
+
+	public boolean expired() {
+		return remainingMillis() <= 0;
+	}
+
+	public void check(String stage) {
+		if (expired()) {
+			throw exceeded(stage);
+		}
+	}
+
+	public GuardViolationException exceeded(String stage) {
+		Map<String, Object> evidence = new LinkedHashMap<>();
+		evidence.put("category", "deadline_exceeded");
+		evidence.put("stage", stage);
+		evidence.put("overrunMs", Math.max(0, -remainingMillis()));
+		return new GuardViolationException("DEADLINE_EXCEEDED", "", "Deadline", evidence);
+	}
+}
@@ -0,0 +1,153 @@
+package dev.everly.synapsys.service.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public final class HedgedCall<T> {
+
+	private final String label;
+	private final Supplier<CompletableFuture<T>> secondary;
+	private final Predicate<Throwable> failoverOn;
+	private final UnaryOperator<T> acceptance;
+	private final Executor acceptanceExecutor;
+
+	private final CompletableFuture<T> outcome = new CompletableFuture<>();
+	private final List<CompletableFuture<T>> attempts = new ArrayList<>();
+	private boolean secondaryLaunched;
+	private boolean secondaryClosed;
+	private int running;
+	private Throwable firstError;
+
+	private HedgedCall(String label, Supplier<CompletableFuture<T>> secondary, Predicate<Throwable> failoverOn,
+			UnaryOperator<T> acceptance, Executor acceptanceExecutor) {
+		this.label = label;
+		this.secondary = secondary;
+		this.failoverOn = failoverOn;
+		this.acceptance = acceptance;
+		this.acceptanceExecutor = acceptanceExecutor;
+	}
+
+	// The first attempt that completes and passes acceptance wins, with the value acceptance returns; losers are
+	// cancelled. Acceptance rejects an attempt by throwing. The secondary runs at most once: when the hedge delay
+	// elapses, when the primary is rejected, or when the primary fails with an error accepted by failoverOn. A null
+	// acceptance accepts every attempt as is.
+	public static <T> CompletableFuture<T> start(String label, Supplier<CompletableFuture<T>> primary,
+			Supplier<CompletableFuture<T>> secondary, long hedgeAfterMs, Predicate<Throwable> failoverOn,
+			UnaryOperator<T> acceptance, Executor acceptanceExecutor) {
+		HedgedCall<T> call = new HedgedCall<>(label, secondary, failoverOn, acceptance, acceptanceExecutor);
+		// A caller that gives up on the outcome (an abandoned speculation, a lost race) takes the attempts down with it.
+		call.outcome.whenComplete((value, error) -> {
+			if (call.outcome.isCancelled()) {
+				call.cancelAttempts();
+			}
+		});
+		call.launch(primary);
+		if (hedgeAfterMs > 0) {
+			CompletableFuture.delayedExecutor(hedgeAfterMs, TimeUnit.MILLISECONDS).execute(call::hedge);
+		}
+		return call.outcome;
+	}
+
+	private void launch(Supplier<CompletableFuture<T>> call) {
+		CompletableFuture<T> attempt;
+		try {
+			attempt = call.get();
+		} catch (RuntimeException e) {
+			attempt = CompletableFuture.failedFuture(e);
+		}
+		boolean settled;
+		synchronized (this) {
+			attempts.add(attempt);
+			running++;
+			settled = outcome.isDone();
+		}
+		// The outcome may have been decided between scheduling this attempt and registering it, in which case
+		// cancelAttempts() has already taken its snapshot without it.
+		if (settled) {
+			attempt.cancel(true);
+		}
+		CompletableFuture<T> checked = acceptance == null ? attempt : attempt.thenApplyAsync(value -> {
+			try {
+				return acceptance.apply(value);
+			} catch (RuntimeException e) {
+				throw new Rejected(e);
+			}
+		}, acceptanceExecutor);
+		checked.whenComplete(this::onResult);
+	}
+
+	private void hedge() {
+		synchronized (this) {
+			if (secondaryLaunched || secondaryClosed || outcome.isDone()) {
+				return;
+			}
+			secondaryLaunched = true;
+		}
+		log.info(">>> TX_HEDGE | {}", label);
+		launch(secondary);
+	}
+
+	private void onResult(T value, Throwable error) {
+		if (error == null) {
+			if (outcome.complete(value)) {
+				cancelAttempts();
+			}
+			return;
+		}
+
+		Throwable cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+		boolean rejected = cause instanceof Rejected;
+		if (rejected) {
+			cause = cause.getCause();
+		}
+		boolean failover = false;
+		boolean exhausted;
+		synchronized (this) {
+			running--;
+			if (firstError == null) {
+				firstError = cause;
+			}
+			if (!secondaryLaunched && !secondaryClosed && !outcome.isDone()) {
+				failover = rejected || failoverOn.test(cause);
+				secondaryLaunched = failover;
+				secondaryClosed = !failover;
+			}
+			exhausted = !failover && running == 0;
+		}
+
+		if (failover && rejected) {
+			log.warn(">>> TX_HEDGE_REJECTED | {} | cause={}", label, cause.getMessage());
+			launch(secondary);
+		} else if (failover) {
+			log.warn(">>> TX_FAILOVER | {} | cause={}", label, cause.getMessage());
+			launch(secondary);
+		} else if (exhausted) {
+			outcome.completeExceptionally(firstError);
+		}
+	}
+
+	private void cancelAttempts() {
+		List<CompletableFuture<T>> snapshot;
+		synchronized (this) {
+			secondaryClosed = true;
+			snapshot = List.copyOf(attempts);
+		}
+		snapshot.forEach(attempt -> attempt.cancel(true));
+	}
+
+	private static final class Rejected extends RuntimeException {
+		Rejected(RuntimeException cause) {
+			super(cause);
+		}
+	}
+}
@@ -0,0 +1,12 @@
+package dev.everly.synapsys.service.execution;
+
+import dev.everly.synapsys.service.llm.LlmProviderException;
+
+// Raised locally (open circuit, full bulkhead queue) without reaching the provider; callers may fail over on it but
+// should not retry it.
+public class LoadShedException extends LlmProviderException {
+
+	public LoadShedException(String message) {
+		super(Type.UNAVAILABLE, message, null);
+	}
+}
@@ -0,0 +1,162 @@
+package dev.everly.synapsys.service.execution;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public final class ProviderBulkhead {
+
+	private final String key;
+	private final int maxQueue;
+	private final Duration maxQueueWait;
+	private final AdaptiveLimit adaptive;
+
+	// Start-time fair queuing: a waiter's tag is max(virtual time, its tenant's previous finish tag), the tenant's next
+	// finish tag advances by 1/weight, and the smallest start tag is served next.
+	private final PriorityQueue<Waiter> waiters = new PriorityQueue<>();
+	private final Map<String, Double> finishTags = new HashMap<>();
+	private double virtualTime;
+	private long sequence;
+	private int limit;
+	private int inFlight;
+
+	ProviderBulkhead(String key, int maxConcurrent, int maxQueue, Duration maxQueueWait, AdaptiveLimit adaptive) {
+		this.key = key;
+		this.maxQueue = maxQueue;
+		this.maxQueueWait = maxQueueWait;
+		this.adaptive = adaptive;
+		this.limit = adaptive == null ? maxConcurrent : adaptive.limit();
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public CompletableFuture<Permit> acquire(String tenant, double weight) {
+		Waiter waiter;
+		synchronized (this) {
+			if (inFlight < limit && waiters.isEmpty()) {
+				inFlight++;
+				return CompletableFuture.completedFuture(new Permit(this));
+			}
+			if (waiters.size() >= maxQueue) {
+				return CompletableFuture.failedFuture(rejected("queue_full"));
+			}
+			double start = Math.max(virtualTime, finishTags.getOrDefault(tenant, 0.0));
+			finishTags.put(tenant, start + 1.0 / weight);
+			waiter = new Waiter(new CompletableFuture<>(), start, sequence++);
+			waiters.add(waiter);
+		}
+		drain();
+
+		CompletableFuture.delayedExecutor(maxQueueWait.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+			if (waiter.future().completeExceptionally(rejected("queue_timeout"))) {
+				synchronized (this) {
+					waiters.remove(waiter);
+				}
+			}
+		});
+		return waiter.future();
+	}
+
+	public synchronized int limit() {
+		return limit;
+	}
+
+	public synchronized int inFlight() {
+		return inFlight;
+	}
+
+	public synchronized int queued() {
+		return waiters.size();
+	}
+
+	private void release(Permit.Outcome outcome, long latencyNanos) {
+		synchronized (this) {
+			inFlight--;
+			if (adaptive != null) {
+				if (outcome == Permit.Outcome.SUCCESS) {
+					limit = adaptive.onSuccess(latencyNanos, inFlight);
+				} else if (outcome == Permit.Outcome.DROPPED) {
+					limit = adaptive.onDropped();
+				}
+			}
+		}
+		drain();
+	}
+
+	private void drain() {
+		while (true) {
+			Waiter next;
+			synchronized (this) {
+				if (inFlight >= limit) {
+					return;
+				}
+				next = waiters.poll();
+				if (next == null) {
+					// An idle queue owes nobody anything; restart the virtual clock.
+					finishTags.clear();
+					virtualTime = 0;
+					return;
+				}
+				virtualTime = next.start();
+				inFlight++;
+			}
+			// Completion happens outside the lock because dependent stages may run inline.
+			if (!next.future().complete(new Permit(this))) {
+				synchronized (this) {
+					inFlight--;
+				}
+			}
+		}
+	}
+
+	private LoadShedException rejected(String reason) {
+		return new LoadShedException("Bulkhead '" + key + "' rejected call: " + reason);
+	}
+
+	private record Waiter(CompletableFuture<Permit> future, double start, long sequence) implements Comparable<Waiter> {
+
+		@Override
+		public int compareTo(Waiter other) {
+			int byStart = Double.compare(start, other.start);
+			return byStart != 0 ? byStart : Long.compare(sequence, other.sequence);
+		}
+	}
+
+	public static final class Permit implements AutoCloseable {
+
+		private static final Permit UNBOUNDED = new Permit(null);
+
+		private final ProviderBulkhead owner;
+		private final long startedAt = System.nanoTime();
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		private Permit(ProviderBulkhead owner) {
+			this.owner = owner;
+		}
+
+		public static Permit unbounded() {
+			return UNBOUNDED;
+		}
+
+		@Override
+		public void close() {
+			complete(Outcome.IGNORED);
+		}
+
+		public void complete(Outcome outcome) {
+			if (owner != null && released.compareAndSet(false, true)) {
+				owner.release(outcome, System.nanoTime() - startedAt);
+			}
+		}
+
+		public enum Outcome {
+			SUCCESS, DROPPED, IGNORED
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package dev.everly.synapsys.service.execution;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class ProviderExecutor {
+
+	private final ExecutorService delegate;
+
+	public ProviderExecutor(@Value("${synapsys.execution.mode:platform}") String mode) {
+		boolean virtual = "virtual".equals(mode == null ? "" : mode.trim().toLowerCase(Locale.ROOT));
+		this.delegate = virtual ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("llm-vt-", 0).factory())
+				: Executors.newCachedThreadPool();
+		log.info(">>> Provider execution mode: {}", virtual ? "virtual threads" : "platform thread pool");
+	}
+
+	public <T> Future<T> submit(Callable<T> work) {
+		ContextSnapshot snapshot = ContextSnapshot.capture();
+		return delegate.submit(() -> snapshot.call(work));
+	}
+
+	// Async stages complete on whatever thread finished the previous stage, so the context is captured here, on the
+	// request thread, rather than when each stage is scheduled.
+	public Executor contextual() {
+		ContextSnapshot snapshot = ContextSnapshot.capture();
+		return task -> delegate.execute(() -> snapshot.run(task));
+	}
+
+	@PreDestroy
+	void shutdown() {
+		delegate.shutdownNow();
+	}
+
+	private record ContextSnapshot(Map<String, String> mdc, SecurityContext security) {
+
+		static ContextSnapshot capture() {
+			return new ContextSnapshot(MDC.getCopyOfContextMap(), SecurityContextHolder.getContext());
+		}
+
+		<T> T call(Callable<T> work) throws Exception {
+			apply();
+			try {
+				return work.call();
+			} finally {
+				clear();
+			}
+		}
+
+		void run(Runnable work) {
+			apply();
+			try {
+				work.run();
+			} finally {
+				clear();
+			}
+		}
+
+		private void apply() {
+			if (mdc != null) {
+				MDC.setContextMap(mdc);
+			}
+			SecurityContextHolder.setContext(security);
+		}
+
+		private static void clear() {
+			SecurityContextHolder.clearContext();
+			MDC.clear();
+		}
+	}
+}
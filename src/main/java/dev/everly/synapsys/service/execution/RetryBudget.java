@@ -0,0 +1,32 @@
+package dev.everly.synapsys.service.execution;
+
+// Token bucket shared by all requests: every original call deposits `ratio` tokens and every retry spends one, so
+// retries stay within ratio of the traffic once the initial reserve is used up.
+final class RetryBudget {
+
+	private final double ratio;
+	private final double capacity;
+	private double balance;
+
+	RetryBudget(double ratio, int reserve) {
+		this.ratio = ratio;
+		this.capacity = reserve;
+		this.balance = reserve;
+	}
+
+	synchronized void deposit() {
+		balance = Math.min(capacity, balance + ratio);
+	}
+
+	synchronized boolean tryWithdraw() {
+		if (balance < 1.0) {
+			return false;
+		}
+		balance -= 1.0;
+		return true;
+	}
+
+	synchronized double balance() {
+		return balance;
+	}
+}
@@ -0,0 +1,172 @@
+package dev.everly.synapsys.service.execution;
+
+import static dev.everly.synapsys.service.llm.LlmProviderException.Type.RATE_LIMIT;
+import static dev.everly.synapsys.service.llm.LlmProviderException.Type.UNAVAILABLE;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongFunction;
+
+import org.springframework.stereotype.Component;
+
+import dev.everly.synapsys.config.RetryConfig;
+import dev.everly.synapsys.service.llm.LlmProviderException;
+import dev.everly.synapsys.service.metrics.MetricsContributor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class RetryEngine implements MetricsContributor {
+
+	private final RetryConfig config;
+	private final RetryBudget budget;
+	private final Map<String, Long> cooldownUntil = new ConcurrentHashMap<>();
+
+	private final AtomicLong retries = new AtomicLong();
+	private final AtomicLong budgetExhausted = new AtomicLong();
+	private final AtomicLong cooldownsStarted = new AtomicLong();
+
+	public RetryEngine(RetryConfig config) {
+		this.config = config;
+		this.budget = new RetryBudget(config.budgetRatio(), config.budgetReserve());
+	}
+
+	// The attempt function receives the milliseconds left before the deadline and must bound its call by it.
+	public <T> CompletableFuture<T> execute(String endpoint, long deadlineMillis, Executor executor,
+			LongFunction<CompletableFuture<T>> attempt) {
+		budget.deposit();
+		CompletableFuture<T> result = new CompletableFuture<>();
+		AtomicReference<CompletableFuture<T>> current = new AtomicReference<>();
+		result.whenComplete((value, error) -> {
+			CompletableFuture<T> running = current.get();
+			if (result.isCancelled() && running != null) {
+				running.cancel(true);
+			}
+		});
+		schedule(endpoint, deadlineMillis, executor, attempt, 0, null, result, current);
+		return result;
+	}
+
+	private <T> void schedule(String endpoint, long deadlineMillis, Executor executor,
+			LongFunction<CompletableFuture<T>> attempt, int retry, LlmProviderException lastError,
+			CompletableFuture<T> result, AtomicReference<CompletableFuture<T>> current) {
+		long waitMs = cooldownRemaining(endpoint);
+		if (retry > 0) {
+			waitMs = Math.max(waitMs, backoff(retry));
+		}
+		if (waitMs > 0 && System.currentTimeMillis() + waitMs >= deadlineMillis) {
+			result.completeExceptionally(lastError != null ? lastError
+					: new LlmProviderException(RATE_LIMIT, "Endpoint '" + endpoint + "' is cooling down", null));
+			return;
+		}
+
+		Executor runner = waitMs > 0 ? CompletableFuture.delayedExecutor(waitMs, TimeUnit.MILLISECONDS, executor)
+				: Runnable::run;
+		runner.execute(() -> {
+			if (result.isDone()) {
+				return;
+			}
+			long remaining = deadlineMillis - System.currentTimeMillis();
+			if (remaining <= 0 && lastError != null) {
+				result.completeExceptionally(lastError);
+				return;
+			}
+			CompletableFuture<T> call;
+			try {
+				call = attempt.apply(Math.max(1, remaining));
+			} catch (RuntimeException e) {
+				call = CompletableFuture.failedFuture(e);
+			}
+			current.set(call);
+			call.whenComplete((value, error) -> {
+				if (error == null) {
+					result.complete(value);
+					return;
+				}
+				Throwable cause = (error instanceof CompletionException && error.getCause() != null)
+						? error.getCause()
+						: error;
+				if (!isRetryable(cause)) {
+					result.completeExceptionally(cause);
+					return;
+				}
+
+				LlmProviderException providerError = (LlmProviderException) cause;
+				startCooldown(endpoint, providerError);
+				if (retry >= config.maxRetries()) {
+					result.completeExceptionally(providerError);
+					return;
+				}
+				if (!budget.tryWithdraw()) {
+					budgetExhausted.incrementAndGet();
+					result.completeExceptionally(providerError);
+					return;
+				}
+				retries.incrementAndGet();
+				log.info(">>> TX_RETRY | endpoint={} | attempt={} | type={}", endpoint, retry + 2,
+						providerError.getType());
+				schedule(endpoint, deadlineMillis, executor, attempt, retry + 1, providerError, result, current);
+			});
+		});
+	}
+
+	private static boolean isRetryable(Throwable cause) {
+		return cause instanceof LlmProviderException providerError && !(cause instanceof LoadShedException)
+				&& (providerError.getType() == RATE_LIMIT || providerError.getType() == UNAVAILABLE);
+	}
+
+	// Full jitter: uniform in [0, min(maxDelay, base * 2^(retry-1))].
+	private long backoff(int retry) {
+		long ceiling = Math.min(config.maxDelayMs(), config.baseDelayMs() << Math.min(retry - 1, 20));
+		return ThreadLocalRandom.current().nextLong(ceiling + 1);
+	}
+
+	private void startCooldown(String endpoint, LlmProviderException providerError) {
+		if (providerError.getRetryAfter() == null || providerError.getRetryAfter().isZero()) {
+			return;
+		}
+		long until = System.currentTimeMillis() + providerError.getRetryAfter().toMillis();
+		Long previous = cooldownUntil.get(endpoint);
+		cooldownUntil.merge(endpoint, until, Math::max);
+		if (previous == null || previous < System.currentTimeMillis()) {
+			cooldownsStarted.incrementAndGet();
+			log.warn(">>> Endpoint [{}] cooling down for {}ms", endpoint, providerError.getRetryAfter().toMillis());
+		}
+	}
+
+	private long cooldownRemaining(String endpoint) {
+		Long until = cooldownUntil.get(endpoint);
+		return until == null ? 0 : Math.max(0, until - System.currentTimeMillis());
+	}
+
+	@Override
+	public String metricsName() {
+		return "retries";
+	}
+
+	@Override
+	public Map<String, Object> metrics() {
+		Map<String, Object> out = new LinkedHashMap<>();
+		out.put("retries", retries.get());
+		out.put("budgetExhausted", budgetExhausted.get());
+		out.put("budgetBalance", budget.balance());
+		out.put("cooldownsStarted", cooldownsStarted.get());
+		Map<String, Long> cooling = new LinkedHashMap<>();
+		cooldownUntil.keySet().forEach(endpoint -> {
+			long remaining = cooldownRemaining(endpoint);
+			if (remaining > 0) {
+				cooling.put(endpoint, remaining);
+			}
+		});
+		out.put("coolingDownMs", cooling);
+		return out;
+	}
+}
@@ -0,0 +1,52 @@
+package dev.everly.synapsys.service.execution;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import dev.everly.synapsys.service.cache.ResponseCacheKey;
+import dev.everly.synapsys.service.llm.message.LlmResponse;
+
+@Component
+public class SingleFlight {
+
+	private final boolean enabled;
+	private final Map<ResponseCacheKey, CompletableFuture<LlmResponse>> inFlight = new ConcurrentHashMap<>();
+
+	public SingleFlight(@Value("${synapsys.singleflight.enabled:true}") boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public CompletableFuture<Result> execute(ResponseCacheKey key, Supplier<CompletableFuture<LlmResponse>> call) {
+		if (!enabled) {
+			return call.get().thenApply(response -> new Result(response, false));
+		}
+
+		CompletableFuture<LlmResponse> leader = new CompletableFuture<>();
+		CompletableFuture<LlmResponse> existing = inFlight.putIfAbsent(key, leader);
+		if (existing != null) {
+			return existing.thenApply(response -> new Result(response, true));
+		}
+
+		leader.whenComplete((response, error) -> inFlight.remove(key, leader));
+		try {
+			call.get().whenComplete((response, error) -> {
+				if (error != null) {
+					leader.completeExceptionally(error);
+				} else {
+					leader.complete(response);
+				}
+			});
+		} catch (RuntimeException e) {
+			leader.completeExceptionally(e);
+		}
+		return leader.thenApply(response -> new Result(response, false));
+	}
+
+	public record Result(LlmResponse response, boolean shared) {
+	}
+}
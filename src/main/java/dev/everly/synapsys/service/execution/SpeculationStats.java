@@ -0,0 +1,55 @@
+package dev.everly.synapsys.service.execution;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import dev.everly.synapsys.service.metrics.MetricsContributor;
+import dev.everly.synapsys.service.sender.SenderConfigService;
+
+@Component
+public class SpeculationStats implements MetricsContributor {
+
+	private final Map<String, Counters> bySender = new ConcurrentHashMap<>();
+
+	public void hit(String sender) {
+		countersFor(sender).hits.increment();
+	}
+
+	public void wasted(String sender) {
+		countersFor(sender).wasted.increment();
+	}
+
+	private Counters countersFor(String sender) {
+		return bySender.computeIfAbsent(SenderConfigService.normalize(sender), k -> new Counters());
+	}
+
+	@Override
+	public String metricsName() {
+		return "speculation";
+	}
+
+	@Override
+	public Map<String, Object> metrics() {
+		Map<String, Object> out = new TreeMap<>();
+		bySender.forEach((sender, counters) -> {
+			long hits = counters.hits.sum();
+			long wasted = counters.wasted.sum();
+			Map<String, Object> stats = new LinkedHashMap<>();
+			stats.put("hits", hits);
+			stats.put("wasted", wasted);
+			stats.put("wasteRatio", hits + wasted == 0 ? 0.0 : (double) wasted / (hits + wasted));
+			out.put(sender, stats);
+		});
+		return out;
+	}
+
+	private static final class Counters {
+		private final LongAdder hits = new LongAdder();
+		private final LongAdder wasted = new LongAdder();
+	}
+}
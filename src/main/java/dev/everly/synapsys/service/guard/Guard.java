@@ -4,4 +4,9 @@ public interface Guard {
 	default boolean appliesTo(String sender, GuardPhase phase) {
 		return true;
 	}
+
+	// Parallel-safe guards hold no per-request state and tolerate being skipped once an earlier guard has failed.
+	default boolean isParallelSafe() {
+		return false;
+	}
 }
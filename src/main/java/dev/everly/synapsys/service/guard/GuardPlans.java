@@ -0,0 +1,60 @@
+package dev.everly.synapsys.service.guard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+
+public final class GuardPlans {
+
+	private final List<PreFlightGuard> preFlightGuards;
+	private final List<PostFlightGuard> postFlightGuards;
+	private final LongSupplier configVersion;
+	private final Map<String, Plan> plans = new ConcurrentHashMap<>();
+
+	// appliesTo() may consult sender configuration, so a plan is only trusted while the config version it was built
+	// against is still current.
+	public GuardPlans(List<PreFlightGuard> preFlightGuards, List<PostFlightGuard> postFlightGuards,
+			LongSupplier configVersion) {
+		this.preFlightGuards = sorted(preFlightGuards);
+		this.postFlightGuards = sorted(postFlightGuards);
+		this.configVersion = configVersion;
+	}
+
+	public Plan planFor(String sender) {
+		long version = configVersion.getAsLong();
+		Plan plan = plans.get(sender);
+		if (plan == null || plan.version() != version) {
+			plan = build(sender, version);
+			plans.put(sender, plan);
+		}
+		return plan;
+	}
+
+	private Plan build(String sender, long version) {
+		List<PreFlightGuard> preFlight = preFlightGuards.stream()
+				.filter(g -> g.appliesTo(sender, GuardPhase.PREFLIGHT)).toList();
+		List<PostFlightGuard> postFlight = postFlightGuards.stream()
+				.filter(g -> g.appliesTo(sender, GuardPhase.POSTFLIGHT)).toList();
+		// A stream keeps the declared order: guards run chunk by chunk up to the first one that needs the whole output,
+		// and everything from there on runs over the buffered text.
+		List<StreamingPostFlightGuard> perChunk = postFlight.stream()
+				.takeWhile(StreamingPostFlightGuard.class::isInstance).map(StreamingPostFlightGuard.class::cast)
+				.toList();
+		List<PostFlightGuard> buffered = postFlight.subList(perChunk.size(), postFlight.size());
+		return new Plan(version, PreFlightGuardChain.of(preFlight), postFlight, perChunk, buffered);
+	}
+
+	private static <T> List<T> sorted(List<T> guards) {
+		List<T> copy = new ArrayList<>(guards);
+		AnnotationAwareOrderComparator.sort(copy);
+		return List.copyOf(copy);
+	}
+
+	public record Plan(long version, PreFlightGuardChain preFlight, List<PostFlightGuard> postFlight,
+			List<StreamingPostFlightGuard> perChunkPostFlight, List<PostFlightGuard> bufferedPostFlight) {
+	}
+}
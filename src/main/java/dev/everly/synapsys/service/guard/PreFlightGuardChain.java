@@ -0,0 +1,89 @@
+package dev.everly.synapsys.service.guard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.OrderUtils;
+
+import dev.everly.synapsys.service.llm.message.SynapsysRequest;
+
+public final class PreFlightGuardChain {
+
+	// Each stage is either a single guard run in place or a run of adjacent parallel-safe guards sharing one order.
+	private final List<List<PreFlightGuard>> stages;
+
+	private PreFlightGuardChain(List<List<PreFlightGuard>> stages) {
+		this.stages = stages;
+	}
+
+	// Expects guards already sorted by order and filtered to those that apply to the request's sender.
+	public static PreFlightGuardChain of(List<PreFlightGuard> guards) {
+		List<List<PreFlightGuard>> stages = new ArrayList<>();
+		List<PreFlightGuard> batch = new ArrayList<>();
+		for (PreFlightGuard guard : guards) {
+			if (!batch.isEmpty() && (!guard.isParallelSafe() || orderOf(guard) != orderOf(batch.get(0)))) {
+				stages.add(List.copyOf(batch));
+				batch.clear();
+			}
+			if (guard.isParallelSafe()) {
+				batch.add(guard);
+			} else {
+				stages.add(List.of(guard));
+			}
+		}
+		if (!batch.isEmpty()) {
+			stages.add(List.copyOf(batch));
+		}
+		return new PreFlightGuardChain(List.copyOf(stages));
+	}
+
+	public void run(SynapsysRequest request, Executor executor) {
+		for (List<PreFlightGuard> stage : stages) {
+			if (stage.size() == 1) {
+				stage.get(0).inspect(request);
+			} else {
+				inspectConcurrently(stage, request, executor);
+			}
+		}
+	}
+
+	// Results are collected in declaration order, so the lowest-ordered violation is reported even when a later
+	// guard fails first; a failure only cancels the guards after it, which have not yet been awaited.
+	private static void inspectConcurrently(List<PreFlightGuard> guards, SynapsysRequest request, Executor executor) {
+		List<CompletableFuture<Void>> inspections = new ArrayList<>(guards.size());
+		for (PreFlightGuard guard : guards) {
+			inspections.add(CompletableFuture.runAsync(() -> guard.inspect(request), executor));
+		}
+		for (int i = 0; i < inspections.size(); i++) {
+			int index = i;
+			inspections.get(i).whenComplete((ignored, error) -> {
+				if (error != null) {
+					inspections.subList(index + 1, inspections.size()).forEach(later -> later.cancel(false));
+				}
+			});
+		}
+
+		for (CompletableFuture<Void> inspection : inspections) {
+			try {
+				inspection.join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException cause) {
+					throw cause;
+				}
+				throw e;
+			}
+		}
+	}
+
+	private static int orderOf(PreFlightGuard guard) {
+		if (guard instanceof Ordered ordered) {
+			return ordered.getOrder();
+		}
+		Integer order = OrderUtils.getOrder(guard.getClass());
+		return order == null ? Ordered.LOWEST_PRECEDENCE : order;
+	}
+}
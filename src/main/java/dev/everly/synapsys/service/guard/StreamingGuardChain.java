@@ -0,0 +1,37 @@
+package dev.everly.synapsys.service.guard;
+
+import java.util.List;
+
+import dev.everly.synapsys.service.llm.message.SynapsysRequest;
+
+public final class StreamingGuardChain {
+
+	private final List<StreamingPostFlightGuard.Session> sessions;
+
+	private StreamingGuardChain(List<StreamingPostFlightGuard.Session> sessions) {
+		this.sessions = sessions;
+	}
+
+	public static StreamingGuardChain open(List<StreamingPostFlightGuard> guards, SynapsysRequest request) {
+		return new StreamingGuardChain(guards.stream().map(g -> g.open(request)).toList());
+	}
+
+	public String accept(String chunk) {
+		String carry = chunk;
+		for (StreamingPostFlightGuard.Session session : sessions) {
+			if (carry.isEmpty()) {
+				return carry;
+			}
+			carry = session.accept(carry);
+		}
+		return carry;
+	}
+
+	public String finish() {
+		String carry = "";
+		for (StreamingPostFlightGuard.Session session : sessions) {
+			carry = session.accept(carry) + session.finish();
+		}
+		return carry;
+	}
+}
@@ -0,0 +1,55 @@
+package dev.everly.synapsys.service.guard;
+
+import dev.everly.synapsys.service.llm.message.SynapsysRequest;
+
+public abstract class StreamingPostFlightGuard extends PostFlightGuard {
+
+	public abstract Session open(SynapsysRequest request);
+
+	@Override
+	public String sanitize(SynapsysRequest context, String llmOutput) {
+		Session session = open(context);
+		return session.accept(llmOutput) + session.finish();
+	}
+
+	public interface Session {
+		// Returns the text that may be released now; anything withheld must come back from a later call or finish().
+		// Throw GuardViolationException to abort the stream.
+		String accept(String chunk);
+
+		String finish();
+	}
+
+	public abstract static class LookBackSession implements Session {
+
+		private final int lookBackChars;
+		private final StringBuilder pending = new StringBuilder();
+
+		protected LookBackSession(int lookBackChars) {
+			this.lookBackChars = Math.max(0, lookBackChars);
+		}
+
+		// Sees the unreleased tail plus the new chunk, so any match up to lookBackChars long is seen whole.
+		protected abstract String scan(String window, boolean last);
+
+		@Override
+		public final String accept(String chunk) {
+			if (chunk == null || chunk.isEmpty()) {
+				return "";
+			}
+			pending.append(chunk);
+			String scanned = scan(pending.toString(), false);
+			int releasable = Math.max(0, scanned.length() - lookBackChars);
+			pending.setLength(0);
+			pending.append(scanned, releasable, scanned.length());
+			return scanned.substring(0, releasable);
+		}
+
+		@Override
+		public final String finish() {
+			String scanned = scan(pending.toString(), true);
+			pending.setLength(0);
+			return scanned;
+		}
+	}
+}
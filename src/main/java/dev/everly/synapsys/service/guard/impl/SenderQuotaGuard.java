@@ -0,0 +1,41 @@
+package dev.everly.synapsys.service.guard.impl;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import dev.everly.synapsys.service.guard.GuardPhase;
+import dev.everly.synapsys.service.guard.PreFlightGuard;
+import dev.everly.synapsys.service.llm.message.SynapsysRequest;
+import dev.everly.synapsys.service.quota.QuotaLedger;
+import dev.everly.synapsys.service.sender.QuotaPolicy;
+import dev.everly.synapsys.service.sender.SenderConfigService;
+
+@Component
+@Order(1000)
+public class SenderQuotaGuard extends PreFlightGuard {
+
+	private final SenderConfigService senderConfigService;
+	private final QuotaLedger quotaLedger;
+
+	public SenderQuotaGuard(SenderConfigService senderConfigService, QuotaLedger quotaLedger) {
+		this.senderConfigService = senderConfigService;
+		this.quotaLedger = quotaLedger;
+	}
+
+	@Override
+	public boolean appliesTo(String sender, GuardPhase phase) {
+		return phase == GuardPhase.PREFLIGHT && quotaPolicyFor(sender).limited();
+	}
+
+	@Override
+	public void inspect(SynapsysRequest request) {
+		quotaLedger.acquire(request, quotaPolicyFor(request.getSender()));
+	}
+
+	private QuotaPolicy quotaPolicyFor(String sender) {
+		if (!senderConfigService.hasConfig(sender)) {
+			return QuotaPolicy.unlimited();
+		}
+		return senderConfigService.getRequired(sender).quotaPolicy();
+	}
+}
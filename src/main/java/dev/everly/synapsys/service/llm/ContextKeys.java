@@ -2,6 +2,10 @@ package dev.everly.synapsys.service.llm;
 
 public final class ContextKeys {
 	public static final String FILE_SEARCH_STORE_NAME = "fileSearchStoreName";
+	// Always overwritten by the broker, so providers can trust it as the hash of the request's system instruction.
+	public static final String SYSTEM_INSTRUCTION_SHA256 = "systemInstructionSha256";
+	// Always overwritten by the broker; true only for senders that opted in to provider-side prompt caching.
+	public static final String PROVIDER_PROMPT_CACHE = "providerPromptCache";
 
 	private ContextKeys() {
 	}
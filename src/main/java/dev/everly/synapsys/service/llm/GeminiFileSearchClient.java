@@ -4,6 +4,8 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -30,6 +32,31 @@ public final class GeminiFileSearchClient {
 	public String generateGroundedContent(String modelName, String systemInstructionText, String userPromptText,
 			String fileSearchStoreName) throws Exception {
 
+		HttpRequest request = buildRequest(modelName, systemInstructionText, userPromptText, fileSearchStoreName,
+				null);
+		HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+		return extractText(response);
+	}
+
+	public CompletableFuture<String> generateGroundedContentAsync(String modelName, String systemInstructionText,
+			String userPromptText, String fileSearchStoreName, Duration timeout) throws Exception {
+
+		HttpRequest request = buildRequest(modelName, systemInstructionText, userPromptText, fileSearchStoreName,
+				timeout);
+		return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(response -> {
+			try {
+				return extractText(response);
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		});
+	}
+
+	private HttpRequest buildRequest(String modelName, String systemInstructionText, String userPromptText,
+			String fileSearchStoreName, Duration timeout) throws Exception {
+
 		String endpointUrl = "https://generativelanguage.googleapis.com/v1beta/models/" + modelName
 				+ ":generateContent?key=" + geminiApiKey;
 
@@ -55,11 +82,15 @@ public final class GeminiFileSearchClient {
 
 		String requestBodyJson = objectMapper.writeValueAsString(root);
 
-		HttpRequest request = HttpRequest.newBuilder().uri(URI.create(endpointUrl))
-				.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(requestBodyJson))
-				.build();
+		HttpRequest.Builder builder = HttpRequest.newBuilder().uri(URI.create(endpointUrl))
+				.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(requestBodyJson));
+		if (timeout != null) {
+			builder.timeout(timeout);
+		}
+		return builder.build();
+	}
 
-		HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+	private String extractText(HttpResponse<String> response) throws Exception {
 		if (response.statusCode() < 200 || response.statusCode() >= 300) {
 			throw new RuntimeException(
 					"Gemini FileSearch REST returned " + response.statusCode() + ": " + response.body());
@@ -0,0 +1,108 @@
+package dev.everly.synapsys.service.llm;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.genai.Client;
+import com.google.genai.types.CachedContent;
+import com.google.genai.types.Content;
+import com.google.genai.types.CreateCachedContentConfig;
+import com.google.genai.types.Part;
+import com.google.genai.types.UpdateCachedContentConfig;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Keeps one Gemini CachedContent per (model, instruction hash). Creation and TTL refresh run in the background; until
+// a cache is ready, or after it fails, callers send the instruction inline, so the request path never waits on it.
+@Slf4j
+public final class GeminiPromptCache {
+
+	private static final Duration RETRY_AFTER_FAILURE = Duration.ofMinutes(10);
+
+	private final Client client;
+	private final Duration ttl;
+	private final int minChars;
+	private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+	public GeminiPromptCache(Client client, Duration ttl, int minChars) {
+		this.client = client;
+		this.ttl = ttl;
+		this.minChars = minChars;
+	}
+
+	// Returns the cached-content name to reference, or null to send the instruction inline.
+	public String cachedContentFor(String model, String instructionSha256, String instructionText) {
+		if (instructionText == null || instructionText.length() < minChars || instructionSha256 == null) {
+			return null;
+		}
+		Key key = new Key(model, instructionSha256);
+		Instant now = Instant.now();
+		Entry entry = entries.get(key);
+		if (entry == null || (!entry.busy().get() && now.isAfter(entry.expiresAt()))) {
+			Entry pending = new Entry(null, now.plus(RETRY_AFTER_FAILURE), new AtomicBoolean(true));
+			if (entry == null ? entries.putIfAbsent(key, pending) == null : entries.replace(key, entry, pending)) {
+				create(key, instructionText);
+			}
+			return null;
+		}
+		if (entry.name() == null || !now.isBefore(entry.expiresAt())) {
+			return null;
+		}
+		// Refreshed once a third of the TTL remains, well before requests could observe it expiring.
+		if (now.isAfter(entry.expiresAt().minus(ttl.dividedBy(3))) && entry.busy().compareAndSet(false, true)) {
+			refresh(key, entry);
+		}
+		return entry.name();
+	}
+
+	// A reference the API no longer recognises is dropped so the next request recreates it.
+	public void evict(String model, String instructionSha256, String name) {
+		Key key = new Key(model, instructionSha256);
+		Entry entry = entries.get(key);
+		if (entry != null && name.equals(entry.name())) {
+			entries.remove(key, entry);
+		}
+	}
+
+	private void create(Key key, String instructionText) {
+		Content system = Content.builder().parts(List.of(Part.builder().text(instructionText).build())).build();
+		CreateCachedContentConfig config = CreateCachedContentConfig.builder().systemInstruction(system).ttl(ttl)
+				.displayName("synapsys-" + key.instructionSha256().substring(0, 12)).build();
+		client.async.caches.create(key.model(), config).whenComplete((cached, error) -> {
+			if (error != null || cached.name().isEmpty()) {
+				log.warn("Gemini prompt cache unavailable for {}; sending instructions inline: {}", key.model(),
+						error == null ? "no name returned" : error.getMessage());
+				entries.put(key, new Entry(null, Instant.now().plus(RETRY_AFTER_FAILURE), new AtomicBoolean()));
+				return;
+			}
+			entries.put(key, new Entry(cached.name().get(), expiryOf(cached), new AtomicBoolean()));
+			log.info(">>> Gemini prompt cache created for {} ({})", key.model(), cached.name().get());
+		});
+	}
+
+	private void refresh(Key key, Entry entry) {
+		client.async.caches.update(entry.name(), UpdateCachedContentConfig.builder().ttl(ttl).build())
+				.whenComplete((cached, error) -> {
+					if (error != null) {
+						log.warn("Gemini prompt cache refresh failed for {}: {}", key.model(), error.getMessage());
+						entries.remove(key, entry);
+						return;
+					}
+					entries.replace(key, entry, new Entry(entry.name(), expiryOf(cached), new AtomicBoolean()));
+				});
+	}
+
+	private Instant expiryOf(CachedContent cached) {
+		return cached.expireTime().orElseGet(() -> Instant.now().plus(ttl));
+	}
+
+	private record Key(String model, String instructionSha256) {
+	}
+
+	private record Entry(String name, Instant expiresAt, AtomicBoolean busy) {
+	}
+}
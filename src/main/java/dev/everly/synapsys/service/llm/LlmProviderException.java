@@ -1,18 +1,30 @@
 package dev.everly.synapsys.service.llm;
 
+import java.time.Duration;
+
 public class LlmProviderException extends RuntimeException {
 
 	private final Type type;
+	private final Duration retryAfter;
 
 	public LlmProviderException(Type type, String message, Throwable cause) {
+		this(type, message, cause, null);
+	}
+
+	public LlmProviderException(Type type, String message, Throwable cause, Duration retryAfter) {
 		super(message, cause);
 		this.type = type;
+		this.retryAfter = retryAfter;
 	}
 
 	public Type getType() {
 		return type;
 	}
 
+	public Duration getRetryAfter() {
+		return retryAfter;
+	}
+
 	public String getNeutralMessage() {
 		return switch (type) {
 		case RATE_LIMIT -> "I’m rate-limited right now. Please try again in a moment.";
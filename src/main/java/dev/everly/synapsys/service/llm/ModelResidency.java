@@ -0,0 +1,18 @@
+package dev.everly.synapsys.service.llm;
+
+import java.util.Map;
+
+public interface ModelResidency {
+
+	enum State {
+		WARMING, WARM, COLD, MISSING
+	}
+
+	String residencyName();
+
+	Map<String, State> modelStates();
+
+	// True once the startup warm-up pass has finished, whatever each model's outcome; from then on a cold or missing
+	// model is reported but no longer holds traffic back.
+	boolean ready();
+}
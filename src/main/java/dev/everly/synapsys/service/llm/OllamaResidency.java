@@ -0,0 +1,184 @@
+package dev.everly.synapsys.service.llm;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.everly.synapsys.service.llm.ModelResidency.State;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+
+// Loads the models the sender registry routes to Ollama before they are first needed. Each check compares the wanted
+// set against /api/ps. A model is warmed with an empty generation the first time it is seen, and after an unload only
+// when its keep_alive pins it; the rest expire as configured. Warm-ups run one at a time so they never compete for
+// memory.
+@Slf4j
+public final class OllamaResidency {
+
+	private static final Duration LOAD_TIMEOUT = Duration.ofMinutes(5);
+	private static final MediaType JSON = MediaType.get("application/json");
+
+	private final OllamaTransport transport;
+	private final String baseUrl;
+	private final ObjectMapper objectMapper;
+	private final Supplier<Set<String>> wantedModels;
+	private final Function<String, Object> keepAliveFor;
+	private final Predicate<String> pinned;
+	private final Map<String, State> states = new ConcurrentHashMap<>();
+	// Only touched from the residency thread.
+	private final Set<String> attempted = new HashSet<>();
+	private volatile boolean settled;
+	private final ScheduledExecutorService scheduler = Executors
+			.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("ollama-residency").factory());
+
+	public OllamaResidency(OllamaTransport transport, String baseUrl, ObjectMapper objectMapper,
+			Supplier<Set<String>> wantedModels, Function<String, Object> keepAliveFor, Predicate<String> pinned) {
+		this.transport = transport;
+		this.baseUrl = baseUrl;
+		this.objectMapper = objectMapper;
+		this.wantedModels = wantedModels;
+		this.keepAliveFor = keepAliveFor;
+		this.pinned = pinned;
+	}
+
+	public void start(Duration checkInterval) {
+		wantedModels.get().forEach(model -> states.put(model, State.WARMING));
+		scheduler.scheduleWithFixedDelay(this::check, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	public void stop() {
+		scheduler.shutdownNow();
+	}
+
+	public Map<String, State> states() {
+		return new TreeMap<>(states);
+	}
+
+	public boolean settled() {
+		return settled;
+	}
+
+	// A served request proves the model is loaded; the next check would only confirm it.
+	public void markWarm(String model) {
+		states.replace(model, State.WARM);
+	}
+
+	private void check() {
+		try {
+			Set<String> wanted = wantedModels.get();
+			states.keySet().retainAll(wanted);
+			attempted.retainAll(wanted);
+			Set<String> loaded;
+			try {
+				loaded = loadedModels();
+			} catch (Exception e) {
+				log.warn("Ollama residency check failed at {}: {}", baseUrl, e.toString());
+				wanted.forEach(model -> states.put(model, State.COLD));
+				return;
+			}
+			for (String model : wanted) {
+				if (loaded.contains(canonical(model))) {
+					states.put(model, State.WARM);
+				} else if (attempted.add(model) || pinned.test(model)) {
+					warm(model);
+				} else {
+					states.merge(model, State.COLD, (previous, cold) -> previous == State.MISSING ? previous : cold);
+				}
+			}
+		} catch (RuntimeException e) {
+			log.warn("Ollama residency check aborted: {}", e.toString());
+		} finally {
+			settled = true;
+		}
+	}
+
+	private void warm(String model) {
+		states.put(model, State.WARMING);
+		long started = System.nanoTime();
+		try {
+			Map<String, Object> body = new TreeMap<>();
+			body.put("model", model);
+			body.put("keep_alive", keepAliveFor.apply(model));
+			Request request = new Request.Builder().url(baseUrl + "/api/generate")
+					.post(RequestBody.create(objectMapper.writeValueAsString(body), JSON)).build();
+			int status = transport.exchange(request, LOAD_TIMEOUT, response -> response.code()).get();
+			if (status == 404) {
+				log.warn("Ollama has no model {}; pull it or fix the sender config", model);
+				states.put(model, State.MISSING);
+				return;
+			}
+			if (status < 200 || status >= 300) {
+				log.warn("Ollama warm-up of {} failed: HTTP {}", model, status);
+				states.put(model, State.COLD);
+				return;
+			}
+			states.put(model, State.WARM);
+			log.info(">>> Ollama model {} warm after {} ms", model,
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			states.put(model, State.COLD);
+		} catch (ExecutionException e) {
+			log.warn("Ollama warm-up of {} failed: {}", model, e.getCause().toString());
+			states.put(model, State.COLD);
+		} catch (Exception e) {
+			log.warn("Ollama warm-up of {} failed: {}", model, e.toString());
+			states.put(model, State.COLD);
+		}
+	}
+
+	private Set<String> loadedModels() throws Exception {
+		Request request = new Request.Builder().url(baseUrl + "/api/ps").get().build();
+		ProcessList list = transport.exchange(request, Duration.ofSeconds(10), response -> {
+			if (!response.isSuccessful()) {
+				throw new IllegalStateException("HTTP " + response.code());
+			}
+			return objectMapper.readValue(response.body().string(), ProcessList.class);
+		}).get();
+		Set<String> loaded = new HashSet<>();
+		if (list.models != null) {
+			for (RunningModel m : list.models) {
+				if (m.name != null) {
+					loaded.add(canonical(m.name));
+				}
+				if (m.model != null) {
+					loaded.add(canonical(m.model));
+				}
+			}
+		}
+		return loaded;
+	}
+
+	// Ollama reports "llama3" as "llama3:latest".
+	private static String canonical(String model) {
+		String m = model.trim().toLowerCase(Locale.ROOT);
+		return m.contains(":") ? m : m + ":latest";
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	static class ProcessList {
+		public RunningModel[] models;
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	static class RunningModel {
+		public String name;
+		public String model;
+	}
+}
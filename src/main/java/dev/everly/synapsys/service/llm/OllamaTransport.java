@@ -0,0 +1,133 @@
+package dev.everly.synapsys.service.llm;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.MDC;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import dev.everly.synapsys.config.OllamaConfig;
+import dev.everly.synapsys.service.metrics.MetricsContributor;
+import jakarta.annotation.PreDestroy;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+// One pooled keep-alive client for every Ollama call. Exchanges run through the dispatcher, so the per-host cap holds
+// for the whole exchange, including a streamed body read inside the handler. The caller's MDC follows the handler.
+@Component
+@Profile("!test")
+public class OllamaTransport implements MetricsContributor {
+
+	private final OkHttpClient client;
+	private final ConnectionPool pool;
+	private final Dispatcher dispatcher;
+	private final int maxConnectionsPerHost;
+	private final LongAdder calls = new LongAdder();
+	private final LongAdder connectsStarted = new LongAdder();
+
+	public OllamaTransport(OllamaConfig config) {
+		OllamaConfig.Http http = config.http();
+		this.maxConnectionsPerHost = http.maxConnectionsPerHost();
+		this.pool = new ConnectionPool(maxConnectionsPerHost, http.idleTimeoutSeconds(), TimeUnit.SECONDS);
+		this.dispatcher = new Dispatcher();
+		dispatcher.setMaxRequestsPerHost(maxConnectionsPerHost);
+		dispatcher.setMaxRequests(Math.max(dispatcher.getMaxRequests(), maxConnectionsPerHost));
+		this.client = new OkHttpClient.Builder().connectionPool(pool).dispatcher(dispatcher)
+				.connectTimeout(Duration.ofMillis(http.connectTimeoutMs()))
+				.readTimeout(Duration.ofMillis(http.readTimeoutMs())).eventListener(new EventListener() {
+					@Override
+					public void callStart(Call call) {
+						calls.increment();
+					}
+
+					@Override
+					public void connectStart(Call call, InetSocketAddress address, Proxy proxy) {
+						connectsStarted.increment();
+					}
+				}).build();
+	}
+
+	@FunctionalInterface
+	public interface ResponseHandler<T> {
+		T handle(Response response) throws Exception;
+	}
+
+	// callTimeout bounds the whole exchange when set; otherwise only the connect and per-read timeouts apply.
+	// Cancelling the returned future cancels the call and releases its connection.
+	public <T> CompletableFuture<T> exchange(Request request, Duration callTimeout, ResponseHandler<T> handler) {
+		Call call = client.newCall(request);
+		if (callTimeout != null) {
+			call.timeout().timeout(Math.max(1, callTimeout.toMillis()), TimeUnit.MILLISECONDS);
+		}
+		Map<String, String> mdc = MDC.getCopyOfContextMap();
+		CompletableFuture<T> result = new CompletableFuture<>();
+		result.whenComplete((value, error) -> {
+			if (result.isCancelled()) {
+				call.cancel();
+			}
+		});
+		call.enqueue(new Callback() {
+			@Override
+			public void onFailure(Call failed, IOException e) {
+				result.completeExceptionally(e);
+			}
+
+			@Override
+			public void onResponse(Call completed, Response response) {
+				if (mdc != null) {
+					MDC.setContextMap(mdc);
+				}
+				try (response) {
+					result.complete(handler.handle(response));
+				} catch (Throwable e) {
+					result.completeExceptionally(e);
+				} finally {
+					MDC.clear();
+				}
+			}
+		});
+		return result;
+	}
+
+	@PreDestroy
+	void shutdown() {
+		dispatcher.cancelAll();
+		dispatcher.executorService().shutdown();
+		pool.evictAll();
+	}
+
+	@Override
+	public String metricsName() {
+		return "transport";
+	}
+
+	@Override
+	public Map<String, Object> metrics() {
+		long total = calls.sum();
+		long connects = connectsStarted.sum();
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("maxConnectionsPerHost", maxConnectionsPerHost);
+		stats.put("connections", pool.connectionCount());
+		stats.put("idleConnections", pool.idleConnectionCount());
+		stats.put("runningCalls", dispatcher.runningCallsCount());
+		stats.put("queuedCalls", dispatcher.queuedCallsCount());
+		stats.put("calls", total);
+		stats.put("connectsStarted", connects);
+		stats.put("connectionReuseRatio", total == 0 ? 0.0 : Math.max(0.0, 1.0 - (double) connects / total));
+		return Map.of("ollama", stats);
+	}
+}
@@ -0,0 +1,4 @@
+package dev.everly.synapsys.service.llm.message;
+
+public record BatchItemResult(int index, int status, SynapsysResponse response) {
+}
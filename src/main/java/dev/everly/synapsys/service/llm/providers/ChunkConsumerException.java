@@ -0,0 +1,29 @@
+package dev.everly.synapsys.service.llm.providers;
+
+import java.util.function.Consumer;
+
+// Tags a failure raised by the caller's chunk consumer (a streaming guard abort, a closed client) so a provider's own
+// error mapping can hand it back untouched instead of reporting it as a provider failure.
+final class ChunkConsumerException extends RuntimeException {
+
+	private final RuntimeException original;
+
+	private ChunkConsumerException(RuntimeException original) {
+		super(original.getMessage(), original, false, false);
+		this.original = original;
+	}
+
+	static Consumer<String> relay(Consumer<String> onChunk) {
+		return chunk -> {
+			try {
+				onChunk.accept(chunk);
+			} catch (RuntimeException e) {
+				throw new ChunkConsumerException(e);
+			}
+		};
+	}
+
+	RuntimeException original() {
+		return original;
+	}
+}
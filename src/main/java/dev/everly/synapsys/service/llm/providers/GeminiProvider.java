@@ -2,22 +2,33 @@ package dev.everly.synapsys.service.llm.providers;
 
 import static dev.everly.synapsys.service.llm.LlmProviderException.Type.*;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
 import com.google.genai.Client;
+import com.google.genai.ResponseStream;
 import com.google.genai.errors.ApiException;
 import com.google.genai.types.Content;
 import com.google.genai.types.GenerateContentConfig;
+import com.google.genai.types.HttpOptions;
 import com.google.genai.types.GenerateContentResponse;
 import com.google.genai.types.Part;
 
 import dev.everly.synapsys.config.LlmConfig;
+import dev.everly.synapsys.config.PromptCacheConfig;
 import dev.everly.synapsys.service.llm.ContextKeys;
 import dev.everly.synapsys.service.llm.GeminiFileSearchClient;
+import dev.everly.synapsys.service.llm.GeminiPromptCache;
 import dev.everly.synapsys.service.llm.LlmProviderException;
 import dev.everly.synapsys.service.llm.message.LlmResponse;
 import dev.everly.synapsys.service.llm.message.SynapsysRequest;
@@ -30,11 +41,14 @@ import lombok.extern.slf4j.Slf4j;
 @Profile("!test")
 public class GeminiProvider implements LlmProvider {
 
+	private static final Pattern RETRY_DELAY = Pattern.compile("\"retryDelay\"\\s*:\\s*\"(\\d+(?:\\.\\d+)?)s\"");
+
 	private final Client geminiSdkClient;
 	private final String defaultModel;
 	private final GeminiFileSearchClient fileSearchClient;
+	private final GeminiPromptCache promptCache;
 
-	public GeminiProvider(LlmConfig config, GeminiFileSearchClient fileSearchClient) {
+	public GeminiProvider(LlmConfig config, GeminiFileSearchClient fileSearchClient, PromptCacheConfig cacheConfig) {
 		String apiKey = (config.llm() != null && config.llm().geminiKey() != null) ? config.llm().geminiKey().trim()
 				: "";
 		if (apiKey.isBlank()) {
@@ -43,8 +57,14 @@ public class GeminiProvider implements LlmProvider {
 
 		String configuredModel = config.llm().defaultModel();
 		this.defaultModel = (configuredModel == null) ? "" : configuredModel.trim();
-		this.geminiSdkClient = Client.builder().apiKey(apiKey).build();
+		Client.Builder clientBuilder = Client.builder().apiKey(apiKey);
+		if (cacheConfig.geminiBaseUrl() != null) {
+			clientBuilder.httpOptions(HttpOptions.builder().baseUrl(cacheConfig.geminiBaseUrl()).build());
+		}
+		this.geminiSdkClient = clientBuilder.build();
 		this.fileSearchClient = fileSearchClient;
+		this.promptCache = cacheConfig.enabled() ? new GeminiPromptCache(geminiSdkClient,
+				Duration.ofSeconds(cacheConfig.ttlSeconds()), cacheConfig.minChars()) : null;
 
 		log.warn(LogColor.live("LIVE GEMINI PROVIDER CREATED"));
 		log.warn(LogColor.live("NETWORK CALLS ENABLED"));
@@ -55,10 +75,14 @@ public class GeminiProvider implements LlmProvider {
 		return "gemini";
 	}
 
+	@Override
+	public String resolveModel(String requestedModel) {
+		return (requestedModel == null || requestedModel.isBlank()) ? defaultModel : requestedModel.trim();
+	}
+
 	@Override
 	public LlmResponse generate(SynapsysRequest synapsysRequest) {
-		String resolvedModel = synapsysRequest.getModelVersion().isBlank() ? defaultModel
-				: synapsysRequest.getModelVersion();
+		String resolvedModel = resolveModel(synapsysRequest.getModelVersion());
 
 		String storeName = readFileSearchStoreName(synapsysRequest.getContext());
 		boolean usesFileSearch = !storeName.isBlank();
@@ -70,33 +94,184 @@ public class GeminiProvider implements LlmProvider {
 				return new LlmResponse(groundedText, TokenUsage.empty(), "gemini");
 			}
 
-			GenerateContentConfig config = buildSdkConfig(synapsysRequest.getSystemInstruction());
+			GenerateContentConfig config = buildSdkConfig(synapsysRequest.getSystemInstruction(), null);
 			GenerateContentResponse response = geminiSdkClient.models.generateContent(resolvedModel,
 					synapsysRequest.getContent(), config);
 
 			return new LlmResponse(response.text(), extractUsage(response), "gemini");
 
 		} catch (ApiException exception) {
-			int errorCode = exception.code();
-			switch (errorCode) {
-			case 403:
-				throw new LlmProviderException(KEY, "Invalid API Key", exception);
-			case 429:
-				throw new LlmProviderException(RATE_LIMIT, "Gemini Resources Exhausted", exception);
-			case 503:
-				throw new LlmProviderException(UNAVAILABLE, "Gemini Service Unavailable", exception);
-			default:
-				throw new RuntimeException("Gemini Failure: " + exception.getMessage(), exception);
+			throw mapApiException(exception);
+		} catch (Exception exception) {
+			throw new RuntimeException("Gemini Failure: " + exception.getMessage(), exception);
+		}
+	}
+
+	@Override
+	public CompletableFuture<LlmResponse> generateAsync(SynapsysRequest synapsysRequest, Duration timeout,
+			Executor executor) {
+		String resolvedModel = resolveModel(synapsysRequest.getModelVersion());
+		String storeName = readFileSearchStoreName(synapsysRequest.getContext());
+
+		CompletableFuture<LlmResponse> call;
+		try {
+			if (!storeName.isBlank()) {
+				call = fileSearchClient.generateGroundedContentAsync(resolvedModel,
+						synapsysRequest.getSystemInstruction(), synapsysRequest.getContent(), storeName, timeout)
+						.thenApply(groundedText -> new LlmResponse(groundedText, TokenUsage.empty(), "gemini"));
+			} else {
+				String cachedContent = cachedContentFor(synapsysRequest, resolvedModel);
+				call = generateContentAsync(synapsysRequest, resolvedModel, cachedContent, timeout);
+				if (cachedContent != null) {
+					call = call.exceptionallyCompose(error -> {
+						if (!isStaleCache(error, cachedContent)) {
+							return CompletableFuture.failedFuture(error);
+						}
+						evictCachedContent(synapsysRequest, resolvedModel, cachedContent);
+						return generateContentAsync(synapsysRequest, resolvedModel, null, timeout);
+					});
+				}
 			}
+		} catch (Exception exception) {
+			return CompletableFuture.failedFuture(mapFailure(exception));
+		}
+
+		return call.handle((response, error) -> {
+			if (error != null) {
+				throw mapFailure(error);
+			}
+			return response;
+		});
+	}
+
+	@Override
+	public LlmResponse generateStream(SynapsysRequest synapsysRequest, Consumer<String> onChunk) {
+		if (!readFileSearchStoreName(synapsysRequest.getContext()).isBlank()) {
+			return LlmProvider.super.generateStream(synapsysRequest, onChunk);
+		}
+
+		String resolvedModel = resolveModel(synapsysRequest.getModelVersion());
+		String cachedContent = cachedContentFor(synapsysRequest, resolvedModel);
+
+		Consumer<String> relay = ChunkConsumerException.relay(onChunk);
+		StringBuilder text = new StringBuilder();
+		try {
+			try {
+				return streamContent(synapsysRequest, resolvedModel, cachedContent, text, relay);
+			} catch (ApiException exception) {
+				if (cachedContent == null || !isStaleCache(exception, cachedContent)) {
+					throw exception;
+				}
+				evictCachedContent(synapsysRequest, resolvedModel, cachedContent);
+				// Resending is only safe while the caller has not seen any of the first attempt.
+				if (!text.isEmpty()) {
+					throw exception;
+				}
+				return streamContent(synapsysRequest, resolvedModel, null, text, relay);
+			}
+		} catch (ApiException exception) {
+			throw mapApiException(exception);
+		} catch (ChunkConsumerException exception) {
+			throw exception.original();
 		} catch (Exception exception) {
 			throw new RuntimeException("Gemini Failure: " + exception.getMessage(), exception);
 		}
 	}
 
-	private GenerateContentConfig buildSdkConfig(String systemInstructionText) {
+	private LlmResponse streamContent(SynapsysRequest synapsysRequest, String model, String cachedContent,
+			StringBuilder text, Consumer<String> relay) throws Exception {
+		GenerateContentConfig config = buildSdkConfig(synapsysRequest.getSystemInstruction(), cachedContent);
+		try (ResponseStream<GenerateContentResponse> stream = geminiSdkClient.models.generateContentStream(model,
+				synapsysRequest.getContent(), config)) {
+			TokenUsage usage = TokenUsage.empty();
+			for (GenerateContentResponse chunk : stream) {
+				String piece = chunk.text();
+				if (piece != null && !piece.isEmpty()) {
+					text.append(piece);
+					relay.accept(piece);
+				}
+				if (chunk.usageMetadata().isPresent()) {
+					usage = extractUsage(chunk);
+				}
+			}
+			return new LlmResponse(text.toString(), usage, "gemini");
+		}
+	}
+
+	private RuntimeException mapFailure(Throwable error) {
+		Throwable cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+		if (cause instanceof ApiException apiException) {
+			return mapApiException(apiException);
+		}
+		if (cause instanceof LlmProviderException providerException) {
+			return providerException;
+		}
+		return new RuntimeException("Gemini Failure: " + cause.getMessage(), cause);
+	}
+
+	private RuntimeException mapApiException(ApiException exception) {
+		return switch (exception.code()) {
+		case 403 -> new LlmProviderException(KEY, "Invalid API Key", exception);
+		case 429 -> new LlmProviderException(RATE_LIMIT, "Gemini Resources Exhausted", exception,
+				parseRetryDelay(exception.message()));
+		case 503 -> new LlmProviderException(UNAVAILABLE, "Gemini Service Unavailable", exception,
+				parseRetryDelay(exception.message()));
+		default -> new RuntimeException("Gemini Failure: " + exception.getMessage(), exception);
+		};
+	}
+
+	// The SDK exposes no response headers; the RetryInfo detail ("retryDelay": "17s") is carried in the message.
+	private static Duration parseRetryDelay(String message) {
+		if (message == null) {
+			return null;
+		}
+		Matcher matcher = RETRY_DELAY.matcher(message);
+		return matcher.find() ? Duration.ofMillis((long) (Double.parseDouble(matcher.group(1)) * 1000)) : null;
+	}
+
+	private CompletableFuture<LlmResponse> generateContentAsync(SynapsysRequest synapsysRequest, String model,
+			String cachedContent, Duration timeout) {
+		GenerateContentConfig config = buildSdkConfig(synapsysRequest.getSystemInstruction(), cachedContent);
+		if (timeout != null) {
+			config = config.toBuilder()
+					.httpOptions(HttpOptions.builder().timeout(Math.toIntExact(timeout.toMillis()))).build();
+		}
+		return geminiSdkClient.async.models.generateContent(model, synapsysRequest.getContent(), config)
+				.thenApply(response -> new LlmResponse(response.text(), extractUsage(response), "gemini"));
+	}
+
+	private String cachedContentFor(SynapsysRequest synapsysRequest, String model) {
+		if (promptCache == null
+				|| !Boolean.TRUE.equals(synapsysRequest.getContext().get(ContextKeys.PROVIDER_PROMPT_CACHE))) {
+			return null;
+		}
+		return promptCache.cachedContentFor(model, readInstructionHash(synapsysRequest.getContext()),
+				synapsysRequest.getSystemInstruction());
+	}
+
+	private void evictCachedContent(SynapsysRequest synapsysRequest, String model, String cachedContent) {
+		log.warn("Gemini cached content {} rejected; falling back to inline instructions", cachedContent);
+		promptCache.evict(model, readInstructionHash(synapsysRequest.getContext()), cachedContent);
+	}
+
+	// An expired or deleted cache surfaces as NOT_FOUND, or as PERMISSION_DENIED naming the cached content. Any other
+	// PERMISSION_DENIED is a key problem and must not churn the cache.
+	private static boolean isStaleCache(Throwable error, String cachedContent) {
+		Throwable cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+		if (!(cause instanceof ApiException apiException)) {
+			return false;
+		}
+		return apiException.code() == 404 || apiException.code() == 403 && apiException.message() != null
+				&& apiException.message().contains(cachedContent);
+	}
+
+	// The cached content already carries the system instruction; sending both is rejected by the API.
+	private GenerateContentConfig buildSdkConfig(String systemInstructionText, String cachedContent) {
 		GenerateContentConfig.Builder builder = GenerateContentConfig.builder();
 
-		if (systemInstructionText != null && !systemInstructionText.isBlank()) {
+		if (cachedContent != null) {
+			builder.cachedContent(cachedContent);
+		} else if (systemInstructionText != null && !systemInstructionText.isBlank()) {
 			Part sysPart = Part.builder().text(systemInstructionText).build();
 			Content sysContent = Content.builder().parts(List.of(sysPart)).build();
 			builder.systemInstruction(sysContent);
@@ -118,6 +293,10 @@ public class GeminiProvider implements LlmProvider {
 		return usage;
 	}
 
+	private String readInstructionHash(Map<String, Object> context) {
+		return context.get(ContextKeys.SYSTEM_INSTRUCTION_SHA256) instanceof String hash ? hash : null;
+	}
+
 	private String readFileSearchStoreName(Map<String, Object> context) {
 		Object raw = context.get(ContextKeys.FILE_SEARCH_STORE_NAME);
 		return raw == null ? "" : String.valueOf(raw).trim();
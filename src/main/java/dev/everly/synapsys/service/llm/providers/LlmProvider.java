@@ -1,10 +1,35 @@
 package dev.everly.synapsys.service.llm.providers;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
 import dev.everly.synapsys.service.llm.message.LlmResponse;
 import dev.everly.synapsys.service.llm.message.SynapsysRequest;
 
 public interface LlmProvider {
 	String getProviderId();
 
+	default String endpointId() {
+		return getProviderId();
+	}
+
+	default String resolveModel(String requestedModel) {
+		return requestedModel == null ? "" : requestedModel.trim();
+	}
+
 	LlmResponse generate(SynapsysRequest request);
+
+	// The timeout is what remains of the request's budget; transports that support it should bound their read by it.
+	default CompletableFuture<LlmResponse> generateAsync(SynapsysRequest request, Duration timeout,
+			Executor executor) {
+		return CompletableFuture.supplyAsync(() -> generate(request), executor);
+	}
+
+	default LlmResponse generateStream(SynapsysRequest request, Consumer<String> onChunk) {
+		LlmResponse response = generate(request);
+		onChunk.accept(response.content());
+		return response;
+	}
 }
\ No newline at end of file
@@ -2,37 +2,71 @@ package dev.everly.synapsys.service.llm.providers;
 
 import static dev.everly.synapsys.service.llm.LlmProviderException.Type.*;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 import org.springframework.context.annotation.Profile;
 import org.springframework.http.MediaType;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClient;
-import org.springframework.web.client.RestClientResponseException;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import dev.everly.synapsys.config.LlmConfig;
+import dev.everly.synapsys.config.OllamaConfig;
+import dev.everly.synapsys.config.PromptCacheConfig;
 import dev.everly.synapsys.service.llm.LlmProviderException;
+import dev.everly.synapsys.service.llm.ModelResidency;
+import dev.everly.synapsys.service.llm.OllamaResidency;
+import dev.everly.synapsys.service.llm.OllamaTransport;
 import dev.everly.synapsys.service.llm.message.LlmResponse;
 import dev.everly.synapsys.service.llm.message.SynapsysRequest;
 import dev.everly.synapsys.service.llm.message.TokenUsage;
+import dev.everly.synapsys.service.sender.SenderConfig;
+import dev.everly.synapsys.service.sender.SenderConfigService;
 import dev.everly.synapsys.util.LogColor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.Request;
+import okhttp3.RequestBody;
 
 @Service
 @Slf4j
 @Profile("!test")
-public class OllamaProvider implements LlmProvider {
+public class OllamaProvider implements LlmProvider, ModelResidency {
 
-	private final RestClient restClient;
+	private static final okhttp3.MediaType JSON_BODY = okhttp3.MediaType.get(MediaType.APPLICATION_JSON_VALUE);
+
+	private final OllamaTransport transport;
 	private final String baseUrl;
 	private final String defaultModel;
+	private final ObjectMapper objectMapper;
+	private final String keepAlive;
+	private final Map<String, String> modelKeepAlive;
+	private final SenderConfigService senderConfigService;
+	private final OllamaResidency residency;
 
-	public OllamaProvider(LlmConfig config) {
+	public OllamaProvider(LlmConfig config, ObjectMapper objectMapper, PromptCacheConfig cacheConfig,
+			OllamaConfig ollamaConfig, SenderConfigService senderConfigService, OllamaTransport transport) {
+		this.objectMapper = objectMapper;
+		this.transport = transport;
+		this.keepAlive = cacheConfig.ollamaKeepAlive();
+		this.modelKeepAlive = ollamaConfig.keepAlive();
+		this.senderConfigService = senderConfigService;
 		String configuredModel = (config.llm() != null && config.llm().defaultModel() != null)
 				? config.llm().defaultModel().trim()
 				: "";
@@ -48,23 +82,16 @@ public class OllamaProvider implements LlmProvider {
 
 		this.baseUrl = configuredBaseUrl.isBlank() ? "http://localhost:11434" : configuredBaseUrl;
 
-		SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-		requestFactory.setConnectTimeout((int) Duration.ofSeconds(3).toMillis());
-		requestFactory.setReadTimeout((int) Duration.ofSeconds(180).toMillis());
-
-		this.restClient = RestClient.builder().baseUrl(this.baseUrl)
-				.defaultHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE).requestFactory(requestFactory).build();
-
 		log.warn(LogColor.live("LIVE OLLAMA PROVIDER CREATED"));
 		log.warn(LogColor.live("LOCAL-ONLY CALLS ENABLED @ " + this.baseUrl));
-	}
 
-	private static String safeMessage(RestClientResponseException ex) {
-		String body = ex.getResponseBodyAsString();
-		if (body == null || body.isBlank()) {
-			return truncate(ex.getMessage());
+		if (ollamaConfig.warmup()) {
+			this.residency = new OllamaResidency(transport, this.baseUrl, objectMapper, this::registeredModels,
+					this::keepAliveFor, this::pinned);
+			this.residency.start(Duration.ofSeconds(ollamaConfig.residencyCheckSeconds()));
+		} else {
+			this.residency = null;
 		}
-		return truncate(body);
 	}
 
 	private static String truncate(String s) {
@@ -80,33 +107,219 @@ public class OllamaProvider implements LlmProvider {
 		return "ollama";
 	}
 
+	@Override
+	public String endpointId() {
+		return getProviderId() + "@" + baseUrl;
+	}
+
+	@Override
+	public String resolveModel(String requestedModel) {
+		return (requestedModel == null || requestedModel.isBlank()) ? defaultModel : requestedModel.trim();
+	}
+
+	@Override
+	public String residencyName() {
+		return getProviderId();
+	}
+
+	@Override
+	public Map<String, State> modelStates() {
+		return residency == null ? Map.of() : residency.states();
+	}
+
+	@Override
+	public boolean ready() {
+		return residency == null || residency.settled();
+	}
+
+	// Re-read on every residency check, so senders added or retargeted by a registry reload are warmed too.
+	private Set<String> registeredModels() {
+		Set<String> models = new TreeSet<>();
+		for (SenderConfig cfg : senderConfigService.all()) {
+			if (getProviderId().equalsIgnoreCase(cfg.providerId())) {
+				models.add(resolveModel(cfg.model()));
+			}
+			if (getProviderId().equalsIgnoreCase(cfg.routingPolicy().secondaryProviderId())) {
+				models.add(resolveModel(cfg.routingPolicy().secondaryModel()));
+			}
+		}
+		return models;
+	}
+
+	// Whole numbers are sent as JSON numbers, so "-1" pins a model indefinitely and "0" unloads it after each call.
+	private Object keepAliveFor(String model) {
+		String value = modelKeepAlive.getOrDefault(model, keepAlive).trim();
+		try {
+			return Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			return value;
+		}
+	}
+
+	// A negative keep_alive ("-1", "-1m") never unloads, so losing such a model means Ollama evicted it under pressure.
+	private boolean pinned(String model) {
+		Object value = keepAliveFor(model);
+		return value instanceof Long seconds ? seconds < 0 : value.toString().startsWith("-");
+	}
+
+	private void markWarm(String model) {
+		if (residency != null) {
+			residency.markWarm(model);
+		}
+	}
+
+	@PreDestroy
+	void stopResidency() {
+		if (residency != null) {
+			residency.stop();
+		}
+	}
+
 	@Override
 	public LlmResponse generate(SynapsysRequest request) {
-		String resolvedModel = request.getModelVersion().isBlank() ? defaultModel : request.getModelVersion().trim();
+		return await(generateAsync(request, null, Runnable::run));
+	}
 
-		OllamaChatRequest payload = new OllamaChatRequest(resolvedModel, request.getSystemInstruction(),
-				List.of(new OllamaMessage("user", request.getContent())), false);
+	@Override
+	public CompletableFuture<LlmResponse> generateAsync(SynapsysRequest request, Duration timeout,
+			Executor executor) {
+		String resolvedModel = resolveModel(request.getModelVersion());
 
+		Request httpRequest;
 		try {
-			OllamaChatResponse response = restClient.post().uri("/api/chat").contentType(MediaType.APPLICATION_JSON)
-					.accept(MediaType.APPLICATION_JSON).body(payload).retrieve().body(OllamaChatResponse.class);
+			httpRequest = post("/api/chat", chatRequest(resolvedModel, request, false),
+					MediaType.APPLICATION_JSON_VALUE);
+		} catch (Exception ex) {
+			return CompletableFuture
+					.failedFuture(new LlmProviderException(UNKNOWN, "Ollama Failure: " + ex.getMessage(), ex));
+		}
 
+		return send(httpRequest, timeout, res -> {
+			String body = res.body().string();
+			if (!res.isSuccessful()) {
+				throw mapHttpError(res.code(), truncate(body), null, parseRetryAfter(res.header("Retry-After")));
+			}
+			OllamaChatResponse response = objectMapper.readValue(body, OllamaChatResponse.class);
 			if (response == null || response.message == null) {
 				throw new LlmProviderException(UNKNOWN, "Ollama returned an empty response body.", null);
 			}
-
 			String text = response.message.content == null ? "" : response.message.content;
-			TokenUsage usage = extractUsage(response);
+			markWarm(resolvedModel);
+			return new LlmResponse(text, extractUsage(response), getProviderId());
+		});
+	}
 
-			return new LlmResponse(text, usage, getProviderId());
+	@Override
+	public LlmResponse generateStream(SynapsysRequest request, Consumer<String> onChunk) {
+		String resolvedModel = resolveModel(request.getModelVersion());
 
-		} catch (RestClientResponseException ex) {
-			throw mapHttpError(ex);
-		} catch (LlmProviderException ex) {
-			throw ex;
+		Request httpRequest;
+		try {
+			httpRequest = post("/api/chat", chatRequest(resolvedModel, request, true),
+					MediaType.APPLICATION_NDJSON_VALUE);
 		} catch (Exception ex) {
 			throw new LlmProviderException(UNKNOWN, "Ollama Failure: " + ex.getMessage(), ex);
 		}
+
+		Consumer<String> relay = ChunkConsumerException.relay(onChunk);
+		return await(send(httpRequest, null, res -> {
+			if (!res.isSuccessful()) {
+				throw mapHttpError(res.code(), truncate(res.body().string()), null,
+						parseRetryAfter(res.header("Retry-After")));
+			}
+
+			StringBuilder text = new StringBuilder();
+			TokenUsage usage = TokenUsage.empty();
+			try (BufferedReader reader = new BufferedReader(
+					new InputStreamReader(res.body().byteStream(), StandardCharsets.UTF_8))) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					if (line.isBlank()) {
+						continue;
+					}
+					OllamaChatResponse chunk = objectMapper.readValue(line, OllamaChatResponse.class);
+					if (chunk.error != null && !chunk.error.isBlank()) {
+						throw new LlmProviderException(UNAVAILABLE, "Ollama stream error: " + truncate(chunk.error),
+								null);
+					}
+					String piece = chunk.message == null ? null : chunk.message.content;
+					if (piece != null && !piece.isEmpty()) {
+						text.append(piece);
+						relay.accept(piece);
+					}
+					if (Boolean.TRUE.equals(chunk.done)) {
+						usage = extractUsage(chunk);
+						break;
+					}
+				}
+			}
+			markWarm(resolvedModel);
+			return new LlmResponse(text.toString(), usage, getProviderId());
+		}));
+	}
+
+	private Request post(String path, Object payload, String accept) throws JsonProcessingException {
+		return new Request.Builder().url(baseUrl + path).header("Accept", accept)
+				.post(RequestBody.create(objectMapper.writeValueAsString(payload), JSON_BODY)).build();
+	}
+
+	// Failures are translated here rather than in a derived stage, so cancelling the returned future (a losing hedge,
+	// an expired deadline) still reaches the call and frees its connection.
+	private <T> CompletableFuture<T> send(Request request, Duration timeout,
+			OllamaTransport.ResponseHandler<T> handler) {
+		CompletableFuture<T> call = transport.exchange(request, timeout, handler);
+		CompletableFuture<T> result = new CompletableFuture<>();
+		call.whenComplete((value, error) -> {
+			if (error == null) {
+				result.complete(value);
+			} else {
+				result.completeExceptionally(translate(error));
+			}
+		});
+		result.whenComplete((value, error) -> {
+			if (result.isCancelled()) {
+				call.cancel(true);
+			}
+		});
+		return result;
+	}
+
+	private static RuntimeException translate(Throwable error) {
+		Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+		if (cause instanceof LlmProviderException ex) {
+			return ex;
+		}
+		if (cause instanceof ChunkConsumerException ex) {
+			return ex.original();
+		}
+		if (cause instanceof IOException) {
+			return new LlmProviderException(UNAVAILABLE, "Ollama Failure: " + cause.getMessage(), cause);
+		}
+		return new LlmProviderException(UNKNOWN, "Ollama Failure: " + cause.getMessage(), cause);
+	}
+
+	private static <T> T await(CompletableFuture<T> call) {
+		try {
+			return call.get();
+		} catch (InterruptedException e) {
+			call.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new LlmProviderException(UNKNOWN, "Ollama call interrupted.", e);
+		} catch (ExecutionException e) {
+			// send() has already translated the failure.
+			throw e.getCause() instanceof RuntimeException cause ? cause : translate(e.getCause());
+		}
+	}
+
+	// The system instruction always leads as its own message, so consecutive requests for the same sender share a
+	// byte-identical prompt prefix and the runner can reuse its KV cache instead of re-evaluating it. keep_alive keeps
+	// the model, and with it that cache, resident between requests.
+	private OllamaChatRequest chatRequest(String model, SynapsysRequest request, boolean stream) {
+		String system = request.getSystemInstruction();
+		List<OllamaMessage> messages = (system == null || system.isBlank())
+				? List.of(new OllamaMessage("user", request.getContent()))
+				: List.of(new OllamaMessage("system", system), new OllamaMessage("user", request.getContent()));
+		return new OllamaChatRequest(model, messages, stream, keepAliveFor(model));
 	}
 
 	private TokenUsage extractUsage(OllamaChatResponse r) {
@@ -115,22 +328,31 @@ public class OllamaProvider implements LlmProvider {
 		return new TokenUsage(prompt, completion, prompt + completion);
 	}
 
-	private LlmProviderException mapHttpError(RestClientResponseException ex) {
-		int code = ex.getStatusCode().value();
-		String msg = safeMessage(ex);
+	private static Duration parseRetryAfter(String value) {
+		if (value == null || value.isBlank()) {
+			return null;
+		}
+		try {
+			return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
 
+	private LlmProviderException mapHttpError(int code, String msg, Throwable ex, Duration retryAfter) {
 		return switch (code) {
 		case 400 -> new LlmProviderException(INVALID_REQUEST, "Ollama rejected request: " + msg, ex);
 		case 401, 403 -> new LlmProviderException(KEY, "Ollama authentication/permission error: " + msg, ex);
 		case 404 ->
 			new LlmProviderException(UNAVAILABLE, "Ollama not found or model missing at " + baseUrl + ": " + msg, ex);
-		case 429 -> new LlmProviderException(RATE_LIMIT, "Ollama rate-limited the request: " + msg, ex);
-		case 500, 502, 503 -> new LlmProviderException(UNAVAILABLE, "Ollama unavailable: " + msg, ex);
+		case 429 -> new LlmProviderException(RATE_LIMIT, "Ollama rate-limited the request: " + msg, ex, retryAfter);
+		case 500, 502, 503 -> new LlmProviderException(UNAVAILABLE, "Ollama unavailable: " + msg, ex, retryAfter);
 		default -> new LlmProviderException(UNKNOWN, "Ollama HTTP " + code + ": " + msg, ex);
 		};
 	}
 
-	record OllamaChatRequest(String model, String system, List<OllamaMessage> messages, boolean stream) {
+	record OllamaChatRequest(String model, List<OllamaMessage> messages, boolean stream,
+			@JsonProperty("keep_alive") Object keepAlive) {
 	}
 
 	record OllamaMessage(String role, String content) {
@@ -145,5 +367,9 @@ public class OllamaProvider implements LlmProvider {
 
 		@JsonProperty("eval_count")
 		public Integer evalCount;
+
+		public Boolean done;
+
+		public String error;
 	}
 }
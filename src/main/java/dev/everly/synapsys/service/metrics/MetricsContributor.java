@@ -0,0 +1,9 @@
+package dev.everly.synapsys.service.metrics;
+
+import java.util.Map;
+
+public interface MetricsContributor {
+	String metricsName();
+
+	Map<String, Object> metrics();
+}
@@ -0,0 +1,111 @@
+package dev.everly.synapsys.service.quota;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import dev.everly.synapsys.service.guard.GuardViolationException;
+import dev.everly.synapsys.service.llm.message.SynapsysRequest;
+import dev.everly.synapsys.service.llm.message.TokenUsage;
+import dev.everly.synapsys.service.metrics.MetricsContributor;
+import dev.everly.synapsys.service.sender.QuotaPolicy;
+import dev.everly.synapsys.service.sender.SenderConfigService;
+
+@Component
+public class QuotaLedger implements MetricsContributor {
+
+	private static final long MINUTE_MILLIS = Duration.ofMinutes(1).toMillis();
+	private static final long DAY_MILLIS = Duration.ofDays(1).toMillis();
+
+	private final Map<String, SenderLedger> ledgers = new ConcurrentHashMap<>();
+	// Requests whose pre-charge has not been settled yet. SynapsysRequest has identity equality, so a request is trued
+	// up at most once, and a request that was never charged is never refunded.
+	private final Set<SynapsysRequest> open = ConcurrentHashMap.newKeySet();
+
+	// Rough pre-charge (about four characters per token) that is trued up from the provider's TokenUsage.
+	public static long estimateTokens(SynapsysRequest request) {
+		long chars = (long) request.getContent().length() + request.getSystemInstruction().length();
+		return chars / 4 + 1;
+	}
+
+	public void acquire(SynapsysRequest request, QuotaPolicy policy) {
+		String sender = SenderConfigService.normalize(request.getSender());
+		SenderLedger ledger = ledgers.computeIfAbsent(sender, s -> new SenderLedger());
+
+		if (policy.requestsPerSecond() > 0) {
+			long waitNanos = ledger.requests.tryAcquire(System.nanoTime(), policy.requestsPerSecond(), policy.burst());
+			if (waitNanos > 0) {
+				ledger.rejected.increment();
+				throw exceeded("requests_per_second", Duration.ofNanos(waitNanos).toMillis() + 1);
+			}
+		}
+
+		long now = System.currentTimeMillis();
+		long estimate = estimateTokens(request);
+		if (policy.tokensPerMinute() > 0 && ledger.minute.estimate(now) + estimate > policy.tokensPerMinute()) {
+			ledger.rejected.increment();
+			throw exceeded("tokens_per_minute", MINUTE_MILLIS - now % MINUTE_MILLIS);
+		}
+		if (policy.tokensPerDay() > 0 && ledger.day.estimate(now) + estimate > policy.tokensPerDay()) {
+			ledger.rejected.increment();
+			throw exceeded("tokens_per_day", DAY_MILLIS - now % DAY_MILLIS);
+		}
+		ledger.charge(now, estimate);
+		open.add(request);
+	}
+
+	public void settle(SynapsysRequest request, TokenUsage usage) {
+		if (!open.remove(request)) {
+			return;
+		}
+		SenderLedger ledger = ledgers.get(SenderConfigService.normalize(request.getSender()));
+		if (ledger != null) {
+			ledger.charge(System.currentTimeMillis(), usage.totalTokens() - estimateTokens(request));
+		}
+	}
+
+	private static GuardViolationException exceeded(String limit, long retryAfterMs) {
+		Map<String, Object> evidence = new LinkedHashMap<>();
+		evidence.put("category", "quota_exceeded");
+		evidence.put("limit", limit);
+		evidence.put("retryAfterMs", retryAfterMs);
+		return new GuardViolationException("QUOTA_EXCEEDED", "", "SenderQuotaGuard", evidence);
+	}
+
+	@Override
+	public String metricsName() {
+		return "quotas";
+	}
+
+	@Override
+	public Map<String, Object> metrics() {
+		long now = System.currentTimeMillis();
+		Map<String, Object> out = new TreeMap<>();
+		ledgers.forEach((sender, ledger) -> {
+			Map<String, Object> stats = new LinkedHashMap<>();
+			stats.put("tokensLastMinute", ledger.minute.estimate(now));
+			stats.put("tokensLastDay", ledger.day.estimate(now));
+			stats.put("rejected", ledger.rejected.sum());
+			out.put(sender, stats);
+		});
+		return out;
+	}
+
+	private static final class SenderLedger {
+		private final RateGate requests = new RateGate();
+		private final RollingCounter minute = new RollingCounter(MINUTE_MILLIS);
+		private final RollingCounter day = new RollingCounter(DAY_MILLIS);
+		private final LongAdder rejected = new LongAdder();
+
+		void charge(long now, long tokens) {
+			minute.add(now, tokens);
+			day.add(now, tokens);
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package dev.everly.synapsys.service.quota;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Generic cell rate algorithm: a token bucket reduced to one CAS-updated "theoretical arrival time".
+final class RateGate {
+
+	private final AtomicLong theoreticalArrival = new AtomicLong();
+
+	// Returns 0 when admitted, otherwise the nanoseconds until a slot frees up.
+	long tryAcquire(long nowNanos, double perSecond, int burst) {
+		long interval = (long) (1_000_000_000L / perSecond);
+		long tolerance = interval * burst;
+		while (true) {
+			long current = theoreticalArrival.get();
+			long next = Math.max(current, nowNanos) + interval;
+			long wait = next - nowNanos - tolerance;
+			if (wait > 0) {
+				return wait;
+			}
+			if (theoreticalArrival.compareAndSet(current, next)) {
+				return 0;
+			}
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package dev.everly.synapsys.service.quota;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// Sliding-window estimate over two fixed windows: the previous window's total is weighted by how much of it still
+// overlaps the rolling window. Rollover swaps the window with a CAS, so readers and writers never block.
+final class RollingCounter {
+
+	private final long windowMillis;
+	private final AtomicReference<Window> current;
+
+	RollingCounter(long windowMillis) {
+		this.windowMillis = windowMillis;
+		this.current = new AtomicReference<>(new Window(System.currentTimeMillis() / windowMillis, new LongAdder(), 0));
+	}
+
+	long estimate(long nowMillis) {
+		Window window = window(nowMillis);
+		double overlap = 1.0 - (double) (nowMillis % windowMillis) / windowMillis;
+		return (long) (window.previous() * overlap) + window.count().sum();
+	}
+
+	void add(long nowMillis, long amount) {
+		window(nowMillis).count().add(amount);
+	}
+
+	private Window window(long nowMillis) {
+		long index = nowMillis / windowMillis;
+		while (true) {
+			Window window = current.get();
+			if (window.index() >= index) {
+				return window;
+			}
+			long previous = window.index() == index - 1 ? window.count().sum() : 0;
+			Window next = new Window(index, new LongAdder(), previous);
+			if (current.compareAndSet(window, next)) {
+				return next;
+			}
+		}
+	}
+
+	private record Window(long index, LongAdder count, long previous) {
+	}
+}
@@ -0,0 +1,26 @@
+package dev.everly.synapsys.service.sender;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record CachePolicy(boolean enabled, long ttlSeconds, double nearThreshold, boolean disk) {
+
+	private static final long DEFAULT_TTL_SECONDS = 600;
+
+	public CachePolicy {
+		ttlSeconds = ttlSeconds <= 0 ? DEFAULT_TTL_SECONDS : ttlSeconds;
+		nearThreshold = Math.min(1.0, Math.max(0.0, nearThreshold));
+	}
+
+	public static CachePolicy disabled() {
+		return new CachePolicy(false, DEFAULT_TTL_SECONDS, 0.0, false);
+	}
+
+	public boolean nearEnabled() {
+		return enabled && nearThreshold > 0.0;
+	}
+
+	public boolean diskEnabled() {
+		return enabled && disk;
+	}
+}
@@ -0,0 +1,22 @@
+package dev.everly.synapsys.service.sender;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record QuotaPolicy(double requestsPerSecond, int burst, long tokensPerMinute, long tokensPerDay) {
+
+	public QuotaPolicy {
+		requestsPerSecond = Math.max(0.0, requestsPerSecond);
+		burst = Math.max(1, burst);
+		tokensPerMinute = Math.max(0, tokensPerMinute);
+		tokensPerDay = Math.max(0, tokensPerDay);
+	}
+
+	public static QuotaPolicy unlimited() {
+		return new QuotaPolicy(0.0, 1, 0, 0);
+	}
+
+	public boolean limited() {
+		return requestsPerSecond > 0 || tokensPerMinute > 0 || tokensPerDay > 0;
+	}
+}
@@ -0,0 +1,29 @@
+package dev.everly.synapsys.service.sender;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record RoutingPolicy(String secondaryProviderId, String secondaryModel, boolean failover, long hedgeAfterMs) {
+
+	public RoutingPolicy {
+		secondaryProviderId = secondaryProviderId == null ? "" : secondaryProviderId.trim();
+		secondaryModel = secondaryModel == null ? "" : secondaryModel.trim();
+		hedgeAfterMs = Math.max(0, hedgeAfterMs);
+	}
+
+	public static RoutingPolicy none() {
+		return new RoutingPolicy("", "", false, 0);
+	}
+
+	public boolean hasSecondary() {
+		return !secondaryProviderId.isBlank();
+	}
+
+	public boolean hedgeEnabled() {
+		return hasSecondary() && hedgeAfterMs > 0;
+	}
+
+	public boolean failoverEnabled() {
+		return hasSecondary() && failover;
+	}
+}
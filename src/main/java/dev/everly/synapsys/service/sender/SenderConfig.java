@@ -4,5 +4,30 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public record SenderConfig(String senderId, String synapsysClientKey, String providerId, String model,
-		String systemInstructionPath, String fileSearchStoreName) {
+		String systemInstructionPath, String fileSearchStoreName, CachePolicy cache, RoutingPolicy routing,
+		Double weight, QuotaPolicy quota, Boolean speculative, Boolean promptCache) {
+
+	public CachePolicy cachePolicy() {
+		return cache == null ? CachePolicy.disabled() : cache;
+	}
+
+	public double schedulingWeight() {
+		return (weight == null || weight <= 0) ? 1.0 : weight;
+	}
+
+	public QuotaPolicy quotaPolicy() {
+		return quota == null ? QuotaPolicy.unlimited() : quota;
+	}
+
+	public boolean speculativeDispatch() {
+		return Boolean.TRUE.equals(speculative);
+	}
+
+	public boolean providerPromptCache() {
+		return Boolean.TRUE.equals(promptCache);
+	}
+
+	public RoutingPolicy routingPolicy() {
+		return routing == null ? RoutingPolicy.none() : routing;
+	}
 }
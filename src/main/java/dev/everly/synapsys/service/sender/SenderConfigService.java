@@ -1,28 +1,63 @@
 package dev.everly.synapsys.service.sender;
 
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 import dev.everly.synapsys.service.secrets.SecretsLocator;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 
 @Service
+@Slf4j
 public final class SenderConfigService {
 
+	private static final int MAX_UNKNOWN_SENDERS = 10_000;
+	private static final String SUFFIX = ".json";
+
 	private final SecretsLocator secretsLocator;
 	private final ObjectMapper mapper;
-	private final Map<String, SenderConfig> cache = new ConcurrentHashMap<>();
+	// Readers only ever see a complete registry; writers build a new map and swap it in under the monitor.
+	private volatile Snapshot snapshot = new Snapshot(Map.of(), 0);
+	// Only consulted while the directory is not being watched; with a watcher, absent from the snapshot means unknown.
+	private final Cache<String, Boolean> unknown;
+	private final WatchService watcher;
 
-	public SenderConfigService(SecretsLocator secretsLocator, ObjectMapper mapper) {
+	public SenderConfigService(SecretsLocator secretsLocator, ObjectMapper mapper,
+			@Value("${synapsys.senders.negativeTtlMs:30000}") long negativeTtlMs,
+			@Value("${synapsys.senders.watch:true}") boolean watch) {
 		this.secretsLocator = secretsLocator;
 		this.mapper = mapper;
+		this.unknown = Caffeine.newBuilder().maximumSize(MAX_UNKNOWN_SENDERS)
+				.expireAfterWrite(Duration.ofMillis(negativeTtlMs)).build();
+		Path dir = preload();
+		this.watcher = (watch && dir != null) ? startWatching(dir) : null;
 	}
 
 	private static SenderConfig validate(SenderConfig cfg, String source) {
@@ -39,33 +74,182 @@ public final class SenderConfigService {
 		}
 	}
 
-	private static String normalize(String senderId) {
+	public static String normalize(String senderId) {
 		if (senderId == null || senderId.isBlank()) {
 			throw new IllegalArgumentException("senderId is required");
 		}
 		return senderId.trim().toLowerCase(Locale.ROOT);
 	}
 
+	// Bumped whenever the registry snapshot changes, so derived per-sender state can be rebuilt.
+	public long version() {
+		return snapshot.version();
+	}
+
+	public Collection<SenderConfig> all() {
+		return snapshot.configs().values();
+	}
+
 	public boolean hasConfig(String senderId) {
 		try {
-			String key = normalize(senderId);
-			if (cache.containsKey(key)) {
-				return true;
-			}
-			Path path = secretsLocator.baseDir().resolve("senders").resolve(key + ".json").normalize();
-			return Files.exists(path);
+			return find(senderId).isPresent();
 		} catch (Exception e) {
 			return false;
 		}
 	}
 
 	public SenderConfig getRequired(String senderId) {
+		return find(senderId).orElseThrow(() -> new IllegalStateException("Unknown sender: " + normalize(senderId)));
+	}
+
+	public Optional<SenderConfig> find(String senderId) {
 		String key = normalize(senderId);
-		return cache.computeIfAbsent(key, this::loadAndValidate);
+		SenderConfig known = snapshot.configs().get(key);
+		if (known != null) {
+			return Optional.of(known);
+		}
+		if (watcher != null || unknown.getIfPresent(key) != null) {
+			return Optional.empty();
+		}
+		if (!Files.exists(configPath(key))) {
+			unknown.put(key, Boolean.TRUE);
+			return Optional.empty();
+		}
+		SenderConfig loaded = loadAndValidate(key);
+		apply(Map.of(key, Optional.of(loaded)));
+		return Optional.of(loaded);
+	}
+
+	private Path preload() {
+		Path dir;
+		try {
+			dir = sendersDir();
+		} catch (RuntimeException e) {
+			log.warn("Sender directory unavailable; configs will load on first use: {}", e.toString());
+			return null;
+		}
+		if (!Files.isDirectory(dir)) {
+			return null;
+		}
+		Map<String, Optional<SenderConfig>> loaded = new HashMap<>();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+			for (Path file : files) {
+				String key = keyOf(file);
+				try {
+					loaded.put(key, Optional.of(loadAndValidate(key)));
+				} catch (RuntimeException e) {
+					log.warn("Skipping sender config {}: {}", file, e.getMessage());
+				}
+			}
+		} catch (IOException e) {
+			log.warn("Failed to index sender configs in {}: {}", dir, e.toString());
+		}
+		apply(loaded);
+		log.info(">>> Indexed {} sender configs", loaded.size());
+		return dir;
+	}
+
+	private WatchService startWatching(Path dir) {
+		try {
+			WatchService service = FileSystems.getDefault().newWatchService();
+			dir.register(service, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+			Thread.ofPlatform().daemon().name("sender-registry-watch").start(() -> watchLoop(service, dir));
+			log.info(">>> Watching {} for sender config changes", dir);
+			return service;
+		} catch (IOException | UnsupportedOperationException e) {
+			log.warn("Sender config hot reload disabled: {}", e.toString());
+			return null;
+		}
+	}
+
+	private void watchLoop(WatchService service, Path dir) {
+		while (true) {
+			WatchKey key;
+			try {
+				key = service.take();
+			} catch (InterruptedException | ClosedWatchServiceException e) {
+				return;
+			}
+			Set<String> changed = new LinkedHashSet<>();
+			boolean overflow = false;
+			for (WatchEvent<?> event : key.pollEvents()) {
+				if (event.kind() == OVERFLOW) {
+					overflow = true;
+				} else if (event.context() instanceof Path file && file.toString().endsWith(SUFFIX)) {
+					changed.add(keyOf(file));
+				}
+			}
+			if (overflow) {
+				changed.addAll(snapshot.configs().keySet());
+				try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+					files.forEach(file -> changed.add(keyOf(file)));
+				} catch (IOException e) {
+					log.warn("Failed to rescan {}: {}", dir, e.toString());
+				}
+			}
+			reload(changed);
+			if (!key.reset()) {
+				log.warn("Sender directory {} is no longer accessible; hot reload stopped", dir);
+				return;
+			}
+		}
+	}
+
+	// A file that fails validation keeps its previous config live, so a half-written edit never drops a sender.
+	private void reload(Set<String> keys) {
+		Map<String, Optional<SenderConfig>> updates = new HashMap<>();
+		for (String key : keys) {
+			if (!Files.exists(configPath(key))) {
+				updates.put(key, Optional.empty());
+				continue;
+			}
+			try {
+				updates.put(key, Optional.of(loadAndValidate(key)));
+			} catch (RuntimeException e) {
+				log.warn("Rejected sender config change for '{}': {}", key, e.getMessage());
+			}
+		}
+		if (!updates.isEmpty()) {
+			apply(updates);
+			log.info(">>> Reloaded sender configs {}", updates.keySet());
+		}
+	}
+
+	private synchronized void apply(Map<String, Optional<SenderConfig>> updates) {
+		Map<String, SenderConfig> next = new HashMap<>(snapshot.configs());
+		updates.forEach((key, cfg) -> {
+			if (cfg.isPresent()) {
+				next.put(key, cfg.get());
+			} else {
+				next.remove(key);
+			}
+			unknown.invalidate(key);
+		});
+		snapshot = new Snapshot(Map.copyOf(next), snapshot.version() + 1);
+	}
+
+	@PreDestroy
+	void stopWatching() throws IOException {
+		if (watcher != null) {
+			watcher.close();
+		}
+	}
+
+	private static String keyOf(Path file) {
+		String name = file.getFileName().toString();
+		return name.substring(0, name.length() - SUFFIX.length()).toLowerCase(Locale.ROOT);
+	}
+
+	private Path sendersDir() {
+		return secretsLocator.baseDir().resolve("senders");
+	}
+
+	private Path configPath(String normalizedSenderId) {
+		return sendersDir().resolve(normalizedSenderId + SUFFIX).normalize();
 	}
 
 	private SenderConfig loadAndValidate(String normalizedSenderId) {
-		Path path = secretsLocator.baseDir().resolve("senders").resolve(normalizedSenderId + ".json").normalize();
+		Path path = configPath(normalizedSenderId);
 
 		try {
 			String json = Files.readString(path);
@@ -75,4 +259,7 @@ public final class SenderConfigService {
 			throw new IllegalStateException("Failed to load sender config: " + path, e);
 		}
 	}
+
+	private record Snapshot(Map<String, SenderConfig> configs, long version) {
+	}
 }
@@ -0,0 +1,41 @@
+package dev.everly.synapsys.service.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+
+public final class SenderStrategyIndex {
+
+	private final List<SenderStrategy> strategies;
+	private final LongSupplier configVersion;
+	private final Map<String, Entry> bySender = new ConcurrentHashMap<>();
+
+	public SenderStrategyIndex(List<SenderStrategy> strategies, LongSupplier configVersion) {
+		List<SenderStrategy> sorted = new ArrayList<>(strategies);
+		AnnotationAwareOrderComparator.sort(sorted);
+		this.strategies = List.copyOf(sorted);
+		this.configVersion = configVersion;
+	}
+
+	public SenderStrategy select(String sender) {
+		long version = configVersion.getAsLong();
+		Entry entry = bySender.get(sender);
+		if (entry == null || entry.version() != version) {
+			entry = new Entry(version, resolve(sender));
+			bySender.put(sender, entry);
+		}
+		return entry.strategy();
+	}
+
+	private SenderStrategy resolve(String sender) {
+		return strategies.stream().filter(s -> s.appliesTo(sender)).findFirst()
+				.orElseThrow(() -> new IllegalStateException("No SenderStrategy found for sender"));
+	}
+
+	private record Entry(long version, SenderStrategy strategy) {
+	}
+}
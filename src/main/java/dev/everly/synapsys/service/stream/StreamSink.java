@@ -0,0 +1,16 @@
+package dev.everly.synapsys.service.stream;
+
+import java.util.Map;
+
+import dev.everly.synapsys.service.guard.GuardViolationException;
+import dev.everly.synapsys.service.llm.message.SynapsysResponse;
+
+public interface StreamSink {
+	void token(String content);
+
+	void complete(Map<String, Object> metadata);
+
+	void fail(SynapsysResponse response);
+
+	void blocked(GuardViolationException violation);
+}
@@ -0,0 +1,24 @@
+package dev.everly.synapsys.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public final class Digests {
+
+	private Digests() {
+	}
+
+	public static String sha256Hex(String s) {
+		return sha256Hex((s == null ? "" : s).getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static String sha256Hex(byte[] data) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 unavailable", e);
+		}
+	}
+}
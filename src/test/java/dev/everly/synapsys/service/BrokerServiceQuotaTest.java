@@ -0,0 +1,70 @@
+package dev.everly.synapsys.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import dev.everly.synapsys.config.BulkheadConfig;
+import dev.everly.synapsys.config.CircuitBreakerConfig;
+import dev.everly.synapsys.config.RetryConfig;
+import dev.everly.synapsys.service.cache.ResponseCache;
+import dev.everly.synapsys.service.execution.BulkheadRegistry;
+import dev.everly.synapsys.service.execution.CircuitBreakerRegistry;
+import dev.everly.synapsys.service.execution.ProviderExecutor;
+import dev.everly.synapsys.service.execution.RetryEngine;
+import dev.everly.synapsys.service.execution.SingleFlight;
+import dev.everly.synapsys.service.execution.SpeculationStats;
+import dev.everly.synapsys.service.guard.GuardViolationException;
+import dev.everly.synapsys.service.guard.PreFlightGuard;
+import dev.everly.synapsys.service.llm.message.SynapsysRequest;
+import dev.everly.synapsys.service.llm.providers.StubOllamaProvider;
+import dev.everly.synapsys.service.quota.QuotaLedger;
+import dev.everly.synapsys.service.sender.QuotaPolicy;
+import dev.everly.synapsys.service.sender.SenderConfigService;
+
+class BrokerServiceQuotaTest {
+
+	private final QuotaLedger quotas = new QuotaLedger();
+
+	@Test
+	void preFlightBlockAfterTheQuotaChargeRefundsIt() {
+		// Stands in for SenderQuotaGuard, which runs before any guard ordered after it.
+		PreFlightGuard charging = new PreFlightGuard() {
+			@Override
+			public void inspect(SynapsysRequest request) {
+				quotas.acquire(request, new QuotaPolicy(0, 1, 1_000, 0));
+			}
+		};
+		PreFlightGuard blocking = new PreFlightGuard() {
+			@Override
+			public void inspect(SynapsysRequest request) {
+				throw new GuardViolationException("POLICY_BLOCKED", "Blocked.", "TestGuard", Map.of());
+			}
+		};
+
+		BrokerService broker = broker(List.of(charging, blocking));
+		assertThrows(GuardViolationException.class,
+				() -> broker.processAsync(new SynapsysRequest("tester", "hi", Map.of(), "ollama", "", "")));
+
+		assertEquals(0L, tokensLastMinute());
+	}
+
+	@SuppressWarnings("unchecked")
+	private long tokensLastMinute() {
+		return (Long) ((Map<String, Object>) quotas.metrics().get("tester")).get("tokensLastMinute");
+	}
+
+	private BrokerService broker(List<PreFlightGuard> preFlightGuards) {
+		SenderConfigService senders = mock(SenderConfigService.class);
+		return new BrokerService(preFlightGuards, List.of(), List.of(new StubOllamaProvider()), List.of(), List.of(),
+				new ProviderExecutor("platform"), new BulkheadRegistry(new BulkheadConfig(null)),
+				new CircuitBreakerRegistry(new CircuitBreakerConfig(0, 0, 0)),
+				new RetryEngine(new RetryConfig(null, 0, 0, 0, 0)), senders, mock(ResponseCache.class),
+				new SingleFlight(false), quotas, new SpeculationStats(), 20_000, 20_000, 45_000);
+	}
+}
@@ -0,0 +1,314 @@
+package dev.everly.synapsys.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+
+import dev.everly.synapsys.config.BulkheadConfig;
+import dev.everly.synapsys.config.CircuitBreakerConfig;
+import dev.everly.synapsys.config.LlmConfig;
+import dev.everly.synapsys.config.OllamaConfig;
+import dev.everly.synapsys.config.PromptCacheConfig;
+import dev.everly.synapsys.config.RetryConfig;
+import dev.everly.synapsys.service.cache.ResponseCache;
+import dev.everly.synapsys.service.execution.BulkheadRegistry;
+import dev.everly.synapsys.service.execution.CircuitBreakerRegistry;
+import dev.everly.synapsys.service.execution.ProviderExecutor;
+import dev.everly.synapsys.service.execution.RetryEngine;
+import dev.everly.synapsys.service.execution.SingleFlight;
+import dev.everly.synapsys.service.execution.SpeculationStats;
+import dev.everly.synapsys.service.guard.GuardViolationException;
+import dev.everly.synapsys.service.guard.PostFlightGuard;
+import dev.everly.synapsys.service.guard.PreFlightGuard;
+import dev.everly.synapsys.service.guard.StreamingPostFlightGuard;
+import dev.everly.synapsys.service.llm.OllamaTransport;
+import dev.everly.synapsys.service.llm.message.ApplicationMessage;
+import dev.everly.synapsys.service.llm.message.SynapsysRequest;
+import dev.everly.synapsys.service.llm.message.SynapsysResponse;
+import dev.everly.synapsys.service.llm.providers.OllamaProvider;
+import dev.everly.synapsys.service.quota.QuotaLedger;
+import dev.everly.synapsys.service.sender.QuotaPolicy;
+import dev.everly.synapsys.service.sender.SenderConfigService;
+import dev.everly.synapsys.service.strategy.SenderStrategy;
+import dev.everly.synapsys.service.stream.StreamSink;
+
+class BrokerServiceStreamingTest {
+
+	private static final String STREAM = """
+			{"message":{"role":"assistant","content":"hello "},"done":false}
+			{"message":{"role":"assistant","content":"FORBIDDEN"},"done":false}
+			{"message":{"role":"assistant","content":" tail"},"done":false}
+			{"done":true,"prompt_eval_count":3,"eval_count":3}
+			""";
+
+	private HttpServer ollama;
+	private CircuitBreakerRegistry breakers;
+	private final QuotaLedger quotas = new QuotaLedger();
+
+	@BeforeEach
+	void startOllama() throws Exception {
+		ollama = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		ollama.createContext("/api/chat", exchange -> {
+			byte[] body = STREAM.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "application/x-ndjson");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		ollama.start();
+	}
+
+	@AfterEach
+	void stop() {
+		ollama.stop(0);
+	}
+
+	@Test
+	void streamingGuardAbortThroughOllamaIsReportedAsBlocked() throws Exception {
+		GuardViolationException violation = new GuardViolationException("POLICY_BLOCKED", "Blocked.", "TestGuard",
+				Map.of());
+		StreamingPostFlightGuard guard = new StreamingPostFlightGuard() {
+			@Override
+			public Session open(SynapsysRequest request) {
+				return new Session() {
+					@Override
+					public String accept(String chunk) {
+						if (chunk.contains("FORBIDDEN")) {
+							throw violation;
+						}
+						return chunk;
+					}
+
+					@Override
+					public String finish() {
+						return "";
+					}
+				};
+			}
+		};
+
+		RecordingSink sink = new RecordingSink();
+		broker(guard).executeStreamingPipeline(new ApplicationMessage("tester", "hi", Map.of()), sink, null);
+
+		assertTrue(sink.done.await(10, TimeUnit.SECONDS), "stream never finished");
+		assertSame(violation, sink.blocked);
+		assertNull(sink.failure);
+		assertEquals(List.of("hello "), sink.tokens);
+		assertEquals(0, breakers.metrics().values().stream().mapToInt(b -> consecutiveFailures(b)).sum());
+	}
+
+	@Test
+	void clientDisconnectDoesNotCountAgainstTheBreaker() throws Exception {
+		StreamingPostFlightGuard passThrough = new StreamingPostFlightGuard() {
+			@Override
+			public Session open(SynapsysRequest request) {
+				return new Session() {
+					@Override
+					public String accept(String chunk) {
+						return chunk;
+					}
+
+					@Override
+					public String finish() {
+						return "";
+					}
+				};
+			}
+		};
+		RecordingSink sink = new RecordingSink() {
+			@Override
+			public void token(String content) {
+				throw new UncheckedIOException(new IOException("Broken pipe"));
+			}
+		};
+		broker(passThrough).executeStreamingPipeline(new ApplicationMessage("tester", "hi", Map.of()), sink, null);
+
+		assertTrue(sink.done.await(10, TimeUnit.SECONDS), "stream never finished");
+		assertEquals(0, breakers.metrics().values().stream().mapToInt(b -> consecutiveFailures(b)).sum());
+	}
+
+	@Test
+	void streamingGuardAbortRefundsTheQuotaPreCharge() throws Exception {
+		StreamingPostFlightGuard aborting = new StreamingPostFlightGuard() {
+			@Override
+			public Session open(SynapsysRequest request) {
+				return new Session() {
+					@Override
+					public String accept(String chunk) {
+						throw new GuardViolationException("POLICY_BLOCKED", "Blocked.", "TestGuard", Map.of());
+					}
+
+					@Override
+					public String finish() {
+						return "";
+					}
+				};
+			}
+		};
+		RecordingSink sink = new RecordingSink();
+		broker(aborting).executeStreamingPipeline(new ApplicationMessage("tester", "hi", Map.of()), sink, null);
+
+		assertTrue(sink.done.await(10, TimeUnit.SECONDS), "stream never finished");
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (tokensLastMinute() != 0 && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertEquals(0L, tokensLastMinute());
+	}
+
+	@Test
+	void preFlightBlockIsReportedOnTheStreamAndRefunded() throws Exception {
+		GuardViolationException violation = new GuardViolationException("POLICY_BLOCKED", "Blocked.", "TestGuard",
+				Map.of());
+		PreFlightGuard blocking = new PreFlightGuard() {
+			@Override
+			public void inspect(SynapsysRequest request) {
+				throw violation;
+			}
+		};
+
+		RecordingSink sink = new RecordingSink();
+		broker(List.of(blocking)).executeStreamingPipeline(new ApplicationMessage("tester", "hi", Map.of()), sink,
+				null);
+
+		assertTrue(sink.done.await(10, TimeUnit.SECONDS), "stream never finished");
+		assertSame(violation, sink.blocked);
+		assertTrue(sink.tokens.isEmpty());
+		assertEquals(0L, tokensLastMinute());
+	}
+
+	@Test
+	void mixedGuardsRunInDeclaredOrder() throws Exception {
+		PostFlightGuard wholeString = new PostFlightGuard() {
+			@Override
+			public String sanitize(SynapsysRequest context, String llmOutput) {
+				return llmOutput.replace("hello", "howdy");
+			}
+		};
+		StreamingPostFlightGuard streaming = new StreamingPostFlightGuard() {
+			@Override
+			public Session open(SynapsysRequest request) {
+				return new Session() {
+					@Override
+					public String accept(String chunk) {
+						return chunk.replace("howdy", "[greeting]");
+					}
+
+					@Override
+					public String finish() {
+						return "";
+					}
+				};
+			}
+		};
+
+		RecordingSink sink = new RecordingSink();
+		broker(wholeString, streaming).executeStreamingPipeline(new ApplicationMessage("tester", "hi", Map.of()),
+				sink, null);
+
+		assertTrue(sink.done.await(10, TimeUnit.SECONDS), "stream never finished");
+		assertNull(sink.failure);
+		assertEquals(List.of("[greeting] FORBIDDEN tail"), sink.tokens);
+	}
+
+	@SuppressWarnings("unchecked")
+	private long tokensLastMinute() {
+		return (Long) ((Map<String, Object>) quotas.metrics().get("tester")).get("tokensLastMinute");
+	}
+
+	@SuppressWarnings("unchecked")
+	private static int consecutiveFailures(Object snapshot) {
+		return (Integer) ((Map<String, Object>) snapshot).get("consecutiveFailures");
+	}
+
+	private BrokerService broker(PostFlightGuard... postFlightGuards) {
+		return broker(List.of(), postFlightGuards);
+	}
+
+	private BrokerService broker(List<PreFlightGuard> laterPreFlightGuards, PostFlightGuard... postFlightGuards) {
+		SenderConfigService senders = mock(SenderConfigService.class);
+		OllamaConfig ollamaConfig = new OllamaConfig(false, 0, null, null);
+		OllamaTransport transport = new OllamaTransport(ollamaConfig);
+		String baseUrl = "http://127.0.0.1:" + ollama.getAddress().getPort();
+		OllamaProvider provider = new OllamaProvider(
+				new LlmConfig(new LlmConfig.Llm(null, null, "test-model", null, baseUrl), null), new ObjectMapper(),
+				new PromptCacheConfig(null, 0, 0, null, null), ollamaConfig, senders, transport);
+		SenderStrategy strategy = new SenderStrategy() {
+			@Override
+			public boolean appliesTo(String sender) {
+				return true;
+			}
+
+			@Override
+			public SynapsysRequest complete(ApplicationMessage message) {
+				return new SynapsysRequest(message.getSender(), message.getContent(), Map.of(), "ollama", "", "");
+			}
+		};
+		// Pre-charges every request the way SenderQuotaGuard does for a sender with a token quota.
+		PreFlightGuard charging = new PreFlightGuard() {
+			@Override
+			public void inspect(SynapsysRequest request) {
+				quotas.acquire(request, new QuotaPolicy(0, 1, 1_000, 0));
+			}
+		};
+		List<PreFlightGuard> preFlightGuards = new ArrayList<>(List.of(charging));
+		preFlightGuards.addAll(laterPreFlightGuards);
+		return new BrokerService(preFlightGuards, List.of(postFlightGuards), List.of(provider), List.of(),
+				List.of(strategy), new ProviderExecutor("platform"),
+				new BulkheadRegistry(new BulkheadConfig(null)),
+				breakers = new CircuitBreakerRegistry(new CircuitBreakerConfig(0, 0, 0)),
+				new RetryEngine(new RetryConfig(null, 0, 0, 0, 0)), senders, mock(ResponseCache.class),
+				new SingleFlight(false), quotas, new SpeculationStats(), 20_000, 20_000, 45_000);
+	}
+
+	private static class RecordingSink implements StreamSink {
+		private final List<String> tokens = new CopyOnWriteArrayList<>();
+		private final CountDownLatch done = new CountDownLatch(1);
+		private volatile GuardViolationException blocked;
+		private volatile SynapsysResponse failure;
+
+		@Override
+		public void token(String content) {
+			tokens.add(content);
+		}
+
+		@Override
+		public void complete(Map<String, Object> metadata) {
+			done.countDown();
+		}
+
+		@Override
+		public void fail(SynapsysResponse response) {
+			failure = response;
+			done.countDown();
+		}
+
+		@Override
+		public void blocked(GuardViolationException violation) {
+			blocked = violation;
+			done.countDown();
+		}
+	}
+}
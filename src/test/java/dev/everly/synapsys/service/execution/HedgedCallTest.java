@@ -0,0 +1,64 @@
+package dev.everly.synapsys.service.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class HedgedCallTest {
+
+	@Test
+	void cancellingTheOutcomeCancelsRunningAttempts() {
+		CompletableFuture<String> primary = new CompletableFuture<>();
+		CompletableFuture<String> secondary = new CompletableFuture<>();
+
+		CompletableFuture<String> outcome = HedgedCall.start("test", () -> primary, () -> secondary, 0, e -> true,
+				null, Runnable::run);
+		outcome.cancel(true);
+
+		assertTrue(primary.isCancelled());
+		assertFalse(secondary.isDone());
+	}
+
+	@Test
+	void secondaryLaunchedAfterThePrimaryWinsIsCancelled() throws Exception {
+		CompletableFuture<String> primary = new CompletableFuture<>();
+		CompletableFuture<String> secondary = new CompletableFuture<>();
+
+		// The primary wins while the hedge is already past its check but before the secondary is registered.
+		CompletableFuture<String> outcome = HedgedCall.start("test", () -> primary, () -> {
+			primary.complete("primary");
+			return secondary;
+		}, 1, e -> false, null, Runnable::run);
+
+		assertEquals("primary", outcome.get(5, TimeUnit.SECONDS));
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!secondary.isDone() && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertTrue(secondary.isCancelled());
+	}
+
+	@Test
+	void blockedPrimaryLetsTheAcceptedSecondaryWin() throws Exception {
+		CompletableFuture<String> primary = new CompletableFuture<>();
+		CompletableFuture<String> secondary = new CompletableFuture<>();
+
+		CompletableFuture<String> outcome = HedgedCall.start("test", () -> primary, () -> secondary, 0, e -> false,
+				value -> {
+					if (value.contains("blocked")) {
+						throw new IllegalStateException("guard");
+					}
+					return value.toUpperCase();
+				}, Runnable::run);
+		primary.complete("blocked");
+		assertFalse(outcome.isDone());
+		secondary.complete("clean");
+
+		assertEquals("CLEAN", outcome.get(5, TimeUnit.SECONDS));
+	}
+}
@@ -0,0 +1,136 @@
+package dev.everly.synapsys.service.llm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.net.httpserver.HttpServer;
+
+import dev.everly.synapsys.config.OllamaConfig;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+
+// A microbenchmark against a local stand-in for /api/chat: the same calls through the pooled transport, and through
+// one that is made to open a fresh connection per call. Timings are logged; connection counts are asserted. The stub
+// needs sun.net.httpserver.nodelay (set by surefire) to answer kept-alive calls without delayed-ACK stalls.
+class OllamaTransportPoolingTest {
+
+	private static final Logger log = LoggerFactory.getLogger(OllamaTransportPoolingTest.class);
+	private static final String REPLY = """
+			{"message":{"role":"assistant","content":"ok"},"done":true,"prompt_eval_count":1,"eval_count":1}
+			""";
+	private static final int WARMUP = 50;
+	private static final int SEQUENTIAL = 500;
+	private static final int CONCURRENT = 2_000;
+
+	private HttpServer ollama;
+	private String chatUrl;
+
+	@BeforeEach
+	void startOllama() throws Exception {
+		ollama = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 128);
+		ollama.setExecutor(Executors.newFixedThreadPool(32));
+		ollama.createContext("/api/chat", exchange -> {
+			exchange.getRequestBody().readAllBytes();
+			byte[] body = REPLY.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		ollama.start();
+		chatUrl = "http://127.0.0.1:" + ollama.getAddress().getPort() + "/api/chat";
+	}
+
+	@AfterEach
+	void stop() {
+		ollama.stop(0);
+	}
+
+	@Test
+	void pooledCallsReuseConnections() throws Exception {
+		// One discarded round of each warms the JIT and the stub, so neither mode pays for it.
+		measure(false);
+		measure(true);
+		Result pooled = measure(false);
+		Result fresh = measure(true);
+
+		log.info("pooled: {} us/call sequential, {} calls/s concurrent, {} connects for {} calls", pooled.microsPerCall,
+				pooled.callsPerSecond, pooled.connects, pooled.calls);
+		log.info("fresh:  {} us/call sequential, {} calls/s concurrent, {} connects for {} calls", fresh.microsPerCall,
+				fresh.callsPerSecond, fresh.connects, fresh.calls);
+
+		assertEquals(fresh.calls, fresh.connects);
+		// The sequential phase needs one connection; the concurrent phase at most one per host slot.
+		assertTrue(pooled.connects <= 1 + new OllamaConfig(null, 0, null, null).http().maxConnectionsPerHost(),
+				"pooled transport opened " + pooled.connects + " connections");
+	}
+
+	private Result measure(boolean closeEachConnection) throws Exception {
+		OllamaTransport transport = new OllamaTransport(new OllamaConfig(null, 0, null, null));
+		try {
+			for (int i = 0; i < WARMUP; i++) {
+				call(transport, closeEachConnection).get(10, TimeUnit.SECONDS);
+			}
+
+			long started = System.nanoTime();
+			for (int i = 0; i < SEQUENTIAL; i++) {
+				call(transport, closeEachConnection).get(10, TimeUnit.SECONDS);
+			}
+			long sequentialNanos = System.nanoTime() - started;
+
+			started = System.nanoTime();
+			List<CompletableFuture<Integer>> inFlight = new ArrayList<>(CONCURRENT);
+			for (int i = 0; i < CONCURRENT; i++) {
+				inFlight.add(call(transport, closeEachConnection));
+			}
+			CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+			long concurrentNanos = System.nanoTime() - started;
+
+			Map<String, Object> stats = stats(transport);
+			return new Result(TimeUnit.NANOSECONDS.toMicros(sequentialNanos) / SEQUENTIAL,
+					CONCURRENT * TimeUnit.SECONDS.toNanos(1) / concurrentNanos, (Long) stats.get("calls"),
+					(Long) stats.get("connectsStarted"));
+		} finally {
+			transport.shutdown();
+		}
+	}
+
+	private CompletableFuture<Integer> call(OllamaTransport transport, boolean closeEachConnection) {
+		Request.Builder request = new Request.Builder().url(chatUrl)
+				.post(RequestBody.create("{\"model\":\"test\"}", MediaType.get("application/json")));
+		if (closeEachConnection) {
+			request.header("Connection", "close");
+		}
+		return transport.exchange(request.build(), Duration.ofSeconds(10), response -> {
+			response.body().string();
+			return response.code();
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> stats(OllamaTransport transport) {
+		return (Map<String, Object>) transport.metrics().get("ollama");
+	}
+
+	private record Result(long microsPerCall, long callsPerSecond, long calls, long connects) {
+	}
+}